@@ -0,0 +1,110 @@
+package com.zoomly.benchmarks;
+
+import com.zoomly.model.Reservation;
+import com.zoomly.model.Vehicle;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * BenchmarkData.java
+ * Generates repeatable users, vehicles and reservations for the benchmarks, as model objects
+ * and as rows for InMemoryJdbc. Every generator uses a fixed seed.
+ */
+final class BenchmarkData {
+    static final String[] USER_COLUMNS = {"id", "first_name", "last_name", "email", "password", "account_type"};
+    static final String[] VEHICLE_COLUMNS = {"id", "vin", "make", "model", "year", "mileage", "price_per_day",
+            "image_path", "description"};
+    static final String[] RESERVATION_COLUMNS = {"id", "user_id", "vehicle_id", "pickup_date", "dropoff_date",
+            "total_charge"};
+
+    static final String[] MAKES = {"Toyota", "Honda", "Tesla", "Ford"};
+    static final String[][] MODELS = {
+            {"Corolla", "Camry"}, {"Civic", "Accord"}, {"Model X", "Model Y", "Model S"}, {"Mustang", "F-150"}
+    };
+
+    /**
+     * The first pickup day of the generated reservations.
+     */
+    static final LocalDate FIRST_PICKUP = LocalDate.of(2024, 1, 1);
+
+    private BenchmarkData() {
+    }
+
+    static List<Object[]> userRows(int count) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            rows.add(new Object[]{i, "First" + letters(i), "Last" + letters(i), "user" + i + "@zoomly.com",
+                    "Passw0rd!" + i, i % 50 == 0 ? "admin" : "user"});
+        }
+        return rows;
+    }
+
+    static List<Object[]> vehicleRows(int count) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (Vehicle vehicle : vehicles(count)) {
+            rows.add(new Object[]{vehicle.getId(), vehicle.getVin(), vehicle.getMake(), vehicle.getModel(),
+                    vehicle.getYear(), vehicle.getMileage(), vehicle.getPricePerDay(), vehicle.getImagePath(),
+                    vehicle.getDescription()});
+        }
+        return rows;
+    }
+
+    static List<Vehicle> vehicles(int count) {
+        Random random = new Random(42);
+        List<Vehicle> vehicles = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            int make = random.nextInt(MAKES.length);
+            String model = MODELS[make][random.nextInt(MODELS[make].length)];
+            vehicles.add(new Vehicle(i, String.format("V%07d", i), MAKES[make], model, 2010 + random.nextInt(15),
+                    random.nextInt(200_000), 30 + random.nextInt(200) + random.nextInt(100) / 100.0,
+                    "/vehicle_imgs/default_car.png", "A well kept " + MAKES[make] + " " + model + ", ready to go."));
+        }
+        return vehicles;
+    }
+
+    /**
+     * Generates disjoint reservations of one vehicle, each a few days long with a gap of at least
+     * three days after it.
+     *
+     * @param vehicleId the reserved vehicle
+     * @param count the number of reservations
+     * @return the reservations in pickup order
+     */
+    static List<Reservation> reservations(int vehicleId, int count) {
+        Random random = new Random(7);
+        List<Reservation> reservations = new ArrayList<>(count);
+        LocalDate pickup = FIRST_PICKUP;
+        for (int i = 1; i <= count; i++) {
+            LocalDate dropOff = pickup.plusDays(1 + random.nextInt(6));
+            reservations.add(new Reservation(i, 1 + random.nextInt(1000), vehicleId, Date.valueOf(pickup),
+                    Date.valueOf(dropOff), 100.0 + i % 400));
+            pickup = dropOff.plusDays(3 + random.nextInt(4));
+        }
+        return reservations;
+    }
+
+    static List<Object[]> reservationRows(List<Reservation> reservations) {
+        List<Object[]> rows = new ArrayList<>(reservations.size());
+        for (Reservation reservation : reservations) {
+            rows.add(new Object[]{reservation.getId(), reservation.getUserId(), reservation.getVehicleId(),
+                    reservation.getPickupDate(), reservation.getDropOffDate(), reservation.getTotalCharge()});
+        }
+        return rows;
+    }
+
+    /**
+     * Spells a number with letters only, since names may not contain digits.
+     */
+    static String letters(int number) {
+        StringBuilder text = new StringBuilder();
+        do {
+            text.append((char) ('a' + number % 26));
+            number /= 26;
+        } while (number > 0);
+        return text.toString();
+    }
+}
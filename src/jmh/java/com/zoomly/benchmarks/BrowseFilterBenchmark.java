@@ -0,0 +1,84 @@
+package com.zoomly.benchmarks;
+
+import com.zoomly.dao.VehicleDao;
+import com.zoomly.dao.VehicleSearchCriteria;
+import com.zoomly.model.Vehicle;
+import com.zoomly.model.VehicleSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * BrowseFilterBenchmark.java
+ * Measures the browse screen's filter, as done by BrowsVehiclesController.handleFilter.
+ *
+ * catalogPredicate is the in-memory stream filter the screen used to run over the whole catalog.
+ * searchQuery is the current path: the filters go into a VehicleSearchCriteria and VehicleDao.searchSummaries
+ * builds, binds and runs the query. InMemoryJdbc returns one page of rows for it, so it measures the
+ * client-side cost per search rather than the database's filtering.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BrowseFilterBenchmark {
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"1000", "50000"})
+    public int catalogSize;
+
+    private List<Vehicle> catalog;
+    private VehicleDao vehicleDao;
+
+    private final String selectedMake = "Tesla";
+    private final String selectedModel = "Model Y";
+    private final String mileage = "150000";
+    private final String price = "180";
+    private final String year = "2022";
+
+    @Setup
+    public void setUp() throws Exception {
+        catalog = BenchmarkData.vehicles(catalogSize);
+        InMemoryJdbc.install();
+        InMemoryJdbc.setTable("vehicles", BenchmarkData.VEHICLE_COLUMNS, BenchmarkData.vehicleRows(PAGE_SIZE));
+        vehicleDao = new VehicleDao();
+    }
+
+    @Benchmark
+    public List<Vehicle> catalogPredicate() {
+        return catalog.stream()
+                .filter(v -> (selectedMake == null || selectedMake.equals("All") || v.getMake().equals(selectedMake)) &&
+                        (selectedModel == null || selectedModel.equals("All") || v.getModel().equals(selectedModel)) &&
+                        (mileage.isEmpty() || v.getMileage() <= Long.parseLong(mileage)) &&
+                        (price.isEmpty() || v.getPricePerDay() <= Double.parseDouble(price)) &&
+                        (year.isEmpty() || v.getYear() <= Integer.parseInt(year)))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<VehicleSummary> searchQuery() throws SQLException {
+        VehicleSearchCriteria criteria = new VehicleSearchCriteria();
+        criteria.setMake(selectedMake);
+        criteria.setModel(selectedModel);
+        criteria.setMaxMileage((double) Long.parseLong(mileage));
+        criteria.setMaxPricePerDay(Double.parseDouble(price));
+        criteria.setMaxYear(Integer.parseInt(year));
+        criteria.setLimit(PAGE_SIZE);
+        return vehicleDao.searchSummaries(criteria);
+    }
+}
@@ -0,0 +1,172 @@
+package com.zoomly.benchmarks;
+
+import com.zoomly.dao.UserDao;
+import com.zoomly.dao.VehicleDao;
+import com.zoomly.model.User;
+import com.zoomly.model.Vehicle;
+import com.zoomly.util.CsvReader;
+import com.zoomly.util.FileLoader;
+import com.zoomly.util.ImportSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FileLoaderBenchmark.java
+ * Measures reading the users and vehicles import files.
+ *
+ * parseUsers and parseVehicles read every field of every row with CsvReader, as FileLoader does.
+ * readLineSplit is the BufferedReader and String.split approach it replaced, as a baseline.
+ * loadUsers and loadVehicles run the whole FileLoader import, with validation and duplicate checks,
+ * against DAOs that accept every batch without a database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileLoaderBenchmark {
+    @Param({"100000"})
+    public int rows;
+
+    private Path usersFile;
+    private Path vehiclesFile;
+    private FileLoader fileLoader;
+
+    @Setup
+    public void setUp() throws IOException {
+        usersFile = Files.createTempFile("zoomly-bench-users", ".txt");
+        try (BufferedWriter writer = Files.newBufferedWriter(usersFile, StandardCharsets.UTF_8)) {
+            for (Object[] row : BenchmarkData.userRows(rows)) {
+                writer.write(row[1] + "," + row[2] + "," + row[3] + "," + row[4] + "," + row[5]);
+                writer.newLine();
+            }
+        }
+
+        vehiclesFile = Files.createTempFile("zoomly-bench-vehicles", ".txt");
+        try (BufferedWriter writer = Files.newBufferedWriter(vehiclesFile, StandardCharsets.UTF_8)) {
+            for (Vehicle vehicle : BenchmarkData.vehicles(rows)) {
+                writer.write(vehicle.getVin() + "," + vehicle.getMake() + "," + vehicle.getModel() + ","
+                        + vehicle.getYear() + "," + vehicle.getMileage() + "," + vehicle.getPricePerDay() + ","
+                        + vehicle.getImagePath() + "," + vehicle.getDescription());
+                writer.newLine();
+            }
+        }
+
+        fileLoader = new FileLoader(new AcceptingUserDao(), new AcceptingVehicleDao());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(usersFile);
+        Files.deleteIfExists(vehiclesFile);
+    }
+
+    @Benchmark
+    public void parseUsers(Blackhole blackhole) throws IOException {
+        try (CsvReader reader = new CsvReader(usersFile)) {
+            while (reader.next()) {
+                for (int i = 0; i < reader.getFieldCount(); i++) {
+                    blackhole.consume(reader.getString(i));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void parseVehicles(Blackhole blackhole) throws IOException {
+        try (CsvReader reader = new CsvReader(vehiclesFile, 8)) {
+            while (reader.next()) {
+                blackhole.consume(reader.getString(0));
+                blackhole.consume(reader.getString(1));
+                blackhole.consume(reader.getString(2));
+                blackhole.consume(reader.getInt(3));
+                blackhole.consume(reader.getDouble(4));
+                blackhole.consume(reader.getDouble(5));
+                blackhole.consume(reader.getString(6));
+                blackhole.consume(reader.getString(7));
+            }
+        }
+    }
+
+    @Benchmark
+    public void readLineSplit(Blackhole blackhole) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(vehiclesFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(",", 8);
+                blackhole.consume(fields[0].trim());
+                blackhole.consume(fields[1].trim());
+                blackhole.consume(fields[2].trim());
+                blackhole.consume(Integer.parseInt(fields[3].trim()));
+                blackhole.consume(Double.parseDouble(fields[4].trim()));
+                blackhole.consume(Double.parseDouble(fields[5].trim()));
+                blackhole.consume(fields[6].trim());
+                blackhole.consume(fields[7].trim());
+            }
+        }
+    }
+
+    @Benchmark
+    public ImportSummary loadUsers() throws IOException {
+        return fileLoader.loadUsers(usersFile.toString());
+    }
+
+    @Benchmark
+    public ImportSummary loadVehicles() throws IOException {
+        return fileLoader.loadVehicles(vehiclesFile.toString());
+    }
+
+    /**
+     * A UserDao that reports every user as inserted and no email as registered.
+     */
+    private static class AcceptingUserDao extends UserDao {
+        @Override
+        public int[] addUsers(List<User> users) {
+            int[] counts = new int[users.size()];
+            Arrays.fill(counts, 1);
+            return counts;
+        }
+
+        @Override
+        public Set<String> findRegisteredEmails(Collection<String> emails) {
+            return Collections.emptySet();
+        }
+    }
+
+    /**
+     * A VehicleDao that reports every vehicle as inserted.
+     */
+    private static class AcceptingVehicleDao extends VehicleDao {
+        @Override
+        public int[] addVehicles(List<Vehicle> vehicles) {
+            int[] counts = new int[vehicles.size()];
+            Arrays.fill(counts, 1);
+            return counts;
+        }
+    }
+}
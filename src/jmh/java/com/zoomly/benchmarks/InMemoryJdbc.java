@@ -0,0 +1,268 @@
+package com.zoomly.benchmarks;
+
+import com.zoomly.dao.DatabaseConnection;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * InMemoryJdbc.java
+ * A stand-in JDBC driver that serves fixed rows from memory, so the DAOs can be benchmarked
+ * through DatabaseConnection, the connection pool and the statement cache without a MySQL server.
+ *
+ * A query returns every row registered for the first table named after FROM, whatever its
+ * WHERE clause says; updates report one affected row. The results therefore measure the
+ * client side of a query - borrowing a connection, preparing and binding the statement and
+ * mapping rows to models - not the database's own work.
+ */
+public final class InMemoryJdbc {
+    private static final String URL_PREFIX = "jdbc:zoomly-memory:";
+    private static final Map<String, Table> TABLES = new ConcurrentHashMap<>();
+    private static boolean registered;
+
+    private InMemoryJdbc() {
+    }
+
+    /**
+     * Registers the driver and points DatabaseConnection at it.
+     *
+     * @throws SQLException if the driver cannot be registered
+     */
+    public static synchronized void install() throws SQLException {
+        if (!registered) {
+            DriverManager.registerDriver(new MemoryDriver());
+            registered = true;
+        }
+        DatabaseConnection.setUrl(URL_PREFIX + "zoomly");
+        DatabaseConnection.setUser("bench");
+        DatabaseConnection.setPassword("bench");
+    }
+
+    /**
+     * Sets the rows returned by queries against a table.
+     *
+     * @param table the table name as it appears after FROM
+     * @param columns the column labels, in the order of each row's values
+     * @param rows the row values
+     */
+    public static void setTable(String table, String[] columns, List<Object[]> rows) {
+        TABLES.put(table.toLowerCase(Locale.ROOT), new Table(columns, rows));
+    }
+
+    /**
+     * Rows served for one table, with a lookup from column label to value index.
+     */
+    private static final class Table {
+        private final Map<String, Integer> columnIndex = new HashMap<>();
+        private final List<Object[]> rows;
+
+        Table(String[] columns, List<Object[]> rows) {
+            for (int i = 0; i < columns.length; i++) {
+                columnIndex.put(columns[i], i);
+            }
+            this.rows = new ArrayList<>(rows);
+        }
+
+        int indexOf(String column) throws SQLException {
+            Integer index = columnIndex.get(column);
+            if (index == null) {
+                throw new SQLException("Unknown column: " + column);
+            }
+            return index;
+        }
+    }
+
+    private static Table tableFor(String sql) throws SQLException {
+        String lower = sql.toLowerCase(Locale.ROOT);
+        int from = lower.indexOf(" from ");
+        if (from < 0) {
+            return new Table(new String[]{"value"}, List.<Object[]>of(new Object[]{Boolean.FALSE}));
+        }
+        String rest = lower.substring(from + 6).trim();
+        int end = 0;
+        while (end < rest.length() && (Character.isLetterOrDigit(rest.charAt(end)) || rest.charAt(end) == '_')) {
+            end++;
+        }
+        Table table = TABLES.get(rest.substring(0, end));
+        if (table == null) {
+            throw new SQLException("No rows registered for table in: " + sql);
+        }
+        return table;
+    }
+
+    /**
+     * Returns the zero value of a method's return type for calls the stand-in does not model.
+     */
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class || type == long.class || type == short.class || type == byte.class) {
+            return type == long.class ? 0L : 0;
+        }
+        if (type == double.class || type == float.class) {
+            return type == float.class ? 0f : 0d;
+        }
+        return null;
+    }
+
+    private static Connection newConnection() {
+        boolean[] state = {true, false};
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "prepareStatement":
+                            return newStatement((Connection) proxy, (String) args[0]);
+                        case "getAutoCommit":
+                            return state[0];
+                        case "setAutoCommit":
+                            state[0] = (Boolean) args[0];
+                            return null;
+                        case "isValid":
+                            return !state[1];
+                        case "isClosed":
+                            return state[1];
+                        case "close":
+                            state[1] = true;
+                            return null;
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "toString":
+                            return "InMemoryConnection";
+                        default:
+                            return defaultValue(method.getReturnType());
+                    }
+                });
+    }
+
+    private static PreparedStatement newStatement(Connection connection, String sql) {
+        boolean[] closed = {false};
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "executeQuery":
+                            return newResultSet(tableFor(sql));
+                        case "executeUpdate":
+                            return 1;
+                        case "executeBatch":
+                            return new int[0];
+                        case "getConnection":
+                            return connection;
+                        case "isClosed":
+                            return closed[0];
+                        case "close":
+                            closed[0] = true;
+                            return null;
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "toString":
+                            return "InMemoryStatement[" + sql + "]";
+                        default:
+                            return defaultValue(method.getReturnType());
+                    }
+                });
+    }
+
+    private static ResultSet newResultSet(Table table) {
+        int[] cursor = {-1};
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.equals("next")) {
+                        return ++cursor[0] < table.rows.size();
+                    }
+                    if (name.startsWith("get") && args != null && args.length == 1) {
+                        Object[] row = table.rows.get(cursor[0]);
+                        Object value = args[0] instanceof String
+                                ? row[table.indexOf((String) args[0])]
+                                : row[(Integer) args[0] - 1];
+                        Class<?> type = method.getReturnType();
+                        if (value == null) {
+                            return defaultValue(type);
+                        }
+                        if (type == int.class) {
+                            return ((Number) value).intValue();
+                        }
+                        if (type == long.class) {
+                            return ((Number) value).longValue();
+                        }
+                        if (type == double.class) {
+                            return ((Number) value).doubleValue();
+                        }
+                        if (type == String.class) {
+                            return value.toString();
+                        }
+                        return value;
+                    }
+                    switch (name) {
+                        case "close":
+                            return null;
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            return defaultValue(method.getReturnType());
+                    }
+                });
+    }
+
+    /**
+     * The driver registered with DriverManager for jdbc:zoomly-memory: URLs.
+     */
+    private static final class MemoryDriver implements Driver {
+        @Override
+        public Connection connect(String url, Properties info) {
+            return acceptsURL(url) ? newConnection() : null;
+        }
+
+        @Override
+        public boolean acceptsURL(String url) {
+            return url != null && url.startsWith(URL_PREFIX);
+        }
+
+        @Override
+        public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+            return new DriverPropertyInfo[0];
+        }
+
+        @Override
+        public int getMajorVersion() {
+            return 1;
+        }
+
+        @Override
+        public int getMinorVersion() {
+            return 0;
+        }
+
+        @Override
+        public boolean jdbcCompliant() {
+            return false;
+        }
+
+        @Override
+        public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            throw new SQLFeatureNotSupportedException();
+        }
+    }
+}
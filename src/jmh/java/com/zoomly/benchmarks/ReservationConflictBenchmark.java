@@ -0,0 +1,114 @@
+package com.zoomly.benchmarks;
+
+import com.zoomly.dao.ReservationDao;
+import com.zoomly.model.Reservation;
+import com.zoomly.service.AvailabilityIndex;
+import com.zoomly.service.ReservationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ReservationConflictBenchmark.java
+ * Measures the reservation conflict check: ReservationService.validateReservationConflict and the
+ * AvailabilityIndex behind it, against a linear scan of the vehicle's reservations as a baseline.
+ *
+ * The vehicle's reservations come from InMemoryJdbc, and the index TTL is lifted so every
+ * free-range call is answered from memory. serviceConflict also includes the database query
+ * that confirms a conflict the index reports, served here by InMemoryJdbc.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReservationConflictBenchmark {
+    private static final int VEHICLE_ID = 1;
+
+    @Param({"10", "1000", "100000"})
+    public int reservationsPerVehicle;
+
+    private ReservationService reservationService;
+    private AvailabilityIndex index;
+    private List<Reservation> reservations;
+
+    private Date freePickup;
+    private Date freeDropOff;
+    private long freeFromDay;
+    private long freeToDay;
+    private Date takenPickup;
+    private Date takenDropOff;
+
+    @Setup
+    public void setUp() throws Exception {
+        reservations = BenchmarkData.reservations(VEHICLE_ID, reservationsPerVehicle);
+        InMemoryJdbc.install();
+        InMemoryJdbc.setTable("reservations", BenchmarkData.RESERVATION_COLUMNS, BenchmarkData.reservationRows(reservations));
+
+        reservationService = ReservationService.getInstance();
+        reservationService.getAvailabilityIndex().setTtlMillis(Long.MAX_VALUE);
+        reservationService.getAvailabilityIndex().clear();
+
+        index = new AvailabilityIndex(new ReservationDao());
+        index.setTtlMillis(Long.MAX_VALUE);
+
+        // The days between the middle reservation and the next are free; the middle reservation itself is taken.
+        Reservation middle = reservations.get(reservations.size() / 2);
+        Reservation next = reservations.get(reservations.size() / 2 + 1);
+        freePickup = Date.valueOf(middle.getDropOffDate().toLocalDate().plusDays(1));
+        freeDropOff = Date.valueOf(next.getPickupDate().toLocalDate().minusDays(1));
+        freeFromDay = freePickup.toLocalDate().toEpochDay();
+        freeToDay = freeDropOff.toLocalDate().toEpochDay();
+        takenPickup = middle.getPickupDate();
+        takenDropOff = middle.getDropOffDate();
+    }
+
+    @Benchmark
+    public boolean serviceFreeRange() {
+        reservationService.validateReservationConflict(VEHICLE_ID, freePickup, freeDropOff, 0);
+        return true;
+    }
+
+    @Benchmark
+    public boolean serviceConflict() {
+        try {
+            reservationService.validateReservationConflict(VEHICLE_ID, takenPickup, takenDropOff, 0);
+            return false;
+        } catch (IllegalArgumentException e) {
+            return true;
+        }
+    }
+
+    @Benchmark
+    public List<Reservation> indexOverlaps() {
+        return index.findOverlaps(VEHICLE_ID, freeFromDay, freeToDay, 0);
+    }
+
+    /**
+     * The check as it was done before the index: every reservation of the vehicle is compared.
+     */
+    @Benchmark
+    public List<Reservation> linearScan() {
+        List<Reservation> conflicts = new ArrayList<>();
+        for (Reservation reservation : reservations) {
+            if (!reservation.getPickupDate().after(freeDropOff) && !reservation.getDropOffDate().before(freePickup)) {
+                conflicts.add(reservation);
+            }
+        }
+        return conflicts;
+    }
+}
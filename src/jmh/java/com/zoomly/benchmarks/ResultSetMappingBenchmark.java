@@ -0,0 +1,72 @@
+package com.zoomly.benchmarks;
+
+import com.zoomly.dao.ReservationDao;
+import com.zoomly.dao.UserDao;
+import com.zoomly.dao.VehicleDao;
+import com.zoomly.model.Reservation;
+import com.zoomly.model.User;
+import com.zoomly.model.Vehicle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ResultSetMappingBenchmark.java
+ * Measures the DAOs turning result rows into User, Vehicle and Reservation objects, including
+ * borrowing a pooled connection and preparing the statement through the statement cache.
+ * Rows come from InMemoryJdbc, so no time is spent in a database or on the network.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResultSetMappingBenchmark {
+    @Param({"100", "10000"})
+    public int rows;
+
+    private UserDao userDao;
+    private VehicleDao vehicleDao;
+    private ReservationDao reservationDao;
+
+    @Setup
+    public void setUp() throws Exception {
+        InMemoryJdbc.install();
+        InMemoryJdbc.setTable("users", BenchmarkData.USER_COLUMNS, BenchmarkData.userRows(rows));
+        InMemoryJdbc.setTable("vehicles", BenchmarkData.VEHICLE_COLUMNS, BenchmarkData.vehicleRows(rows));
+        InMemoryJdbc.setTable("reservations", BenchmarkData.RESERVATION_COLUMNS,
+                BenchmarkData.reservationRows(BenchmarkData.reservations(1, rows)));
+
+        userDao = new UserDao();
+        vehicleDao = new VehicleDao();
+        reservationDao = new ReservationDao();
+    }
+
+    @Benchmark
+    public List<User> users() {
+        return userDao.getUsersPage(0, rows);
+    }
+
+    @Benchmark
+    public List<Vehicle> vehicles() throws SQLException {
+        return vehicleDao.findPage(0, rows);
+    }
+
+    @Benchmark
+    public List<Reservation> reservations() {
+        return reservationDao.getReservationsPage(0, rows);
+    }
+}
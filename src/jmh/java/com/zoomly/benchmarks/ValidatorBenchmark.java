@@ -0,0 +1,64 @@
+package com.zoomly.benchmarks;
+
+import com.zoomly.model.User;
+import com.zoomly.util.UserValidator;
+import com.zoomly.util.VehicleValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ValidatorBenchmark.java
+ * Measures UserValidator and VehicleValidator on valid input, and on invalid input where
+ * building the error message and throwing is part of the cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidatorBenchmark {
+    private final User validUser = new User(1, "Jane", "Doe", "jane@zoomly.com", "Passw0rd!", "user");
+    private final User invalidUser = new User(2, "Jane3", "Doe!", "jane.doe@", "password", "guest");
+
+    @Benchmark
+    public User validUser() {
+        UserValidator.validate(validUser);
+        return validUser;
+    }
+
+    @Benchmark
+    public String invalidUser() {
+        try {
+            UserValidator.validate(invalidUser);
+            return null;
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public boolean validVehicle() {
+        VehicleValidator.validate("AB123456", "Tesla", "Model Y", 2022, 15000, 129.99);
+        return true;
+    }
+
+    @Benchmark
+    public String invalidVehicle() {
+        try {
+            VehicleValidator.validate("AB123456", "Tesla", "Corolla", 2022, 15000, 129.99);
+            return null;
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+}
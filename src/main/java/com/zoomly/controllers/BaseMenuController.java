@@ -1,19 +1,34 @@
 package com.zoomly.controllers;
 
+import com.zoomly.util.BackgroundExecutor;
+import javafx.concurrent.Task;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXMLLoader;
+import javafx.scene.Cursor;
 import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.stage.Stage;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+
 /**
  * BaseMenuController.java
  * Base controller class for managing scene transitions in the application.
  * Provides utility methods for loading FXML scenes and displaying error messages.
+ *
+ * Database work is run through runAsync, which executes it on a BackgroundExecutor thread and
+ * hands the result back on the JavaFX application thread, so the UI never waits on a query.
+ * While any task is running the scene shows a wait cursor. Tasks still pending when the user
+ * navigates to another scene are cancelled and their results discarded.
  */
 public class BaseMenuController {
+    private final List<Task<?>> runningTasks = new ArrayList<>();
+    private Scene scene;
 
     /**
      * Loads a new scene specified by the provided FXML path.
@@ -26,6 +41,8 @@ public class BaseMenuController {
      */
     protected void loadScene(String fxmlPath, String title, ActionEvent event) {
         try {
+            cancelRunningTasks();
+
             FXMLLoader loader = new FXMLLoader(getClass().getResource(fxmlPath));
             Parent root = loader.load();
 
@@ -35,7 +52,9 @@ public class BaseMenuController {
             stage.setTitle(title);
 
             if (loader.getController() instanceof BaseMenuController) {
-                ((BaseMenuController) loader.getController()).refreshData();
+                BaseMenuController controller = loader.getController();
+                controller.attachScene(scene);
+                controller.refreshData();
             }
         } catch (Exception e) {
             e.printStackTrace();
@@ -52,6 +71,100 @@ public class BaseMenuController {
         // Default implementation does nothing
     }
 
+    /**
+     * Runs work on a background thread and passes its result to onSuccess on the JavaFX application thread.
+     * Failures are reported in an error dialog. Must be called on the JavaFX application thread.
+     *
+     * @param work the work to run, typically service calls
+     * @param onSuccess receives the work's result
+     * @param <T> the result type
+     * @return the task, which may be cancelled
+     */
+    protected <T> Task<T> runAsync(Callable<T> work, Consumer<T> onSuccess) {
+        return runAsync(work, onSuccess, error -> {
+            error.printStackTrace();
+            showError(error.getMessage());
+        });
+    }
+
+    /**
+     * Runs work on a background thread and passes its result or failure back on the JavaFX application thread.
+     * Must be called on the JavaFX application thread.
+     *
+     * @param work the work to run, typically service calls
+     * @param onSuccess receives the work's result
+     * @param onFailure receives the exception the work threw
+     * @param <T> the result type
+     * @return the task, which may be cancelled
+     */
+    protected <T> Task<T> runAsync(Callable<T> work, Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+        Task<T> task = new Task<>() {
+            @Override
+            protected T call() throws Exception {
+                return work.call();
+            }
+        };
+        task.setOnSucceeded(e -> {
+            taskFinished(task);
+            onSuccess.accept(task.getValue());
+        });
+        task.setOnFailed(e -> {
+            taskFinished(task);
+            onFailure.accept(task.getException());
+        });
+        task.setOnCancelled(e -> taskFinished(task));
+
+        runningTasks.add(task);
+        if (runningTasks.size() == 1) {
+            setLoading(true);
+        }
+        BackgroundExecutor.execute(task);
+        return task;
+    }
+
+    /**
+     * Cancels every task this controller started that has not finished yet. A task that is already
+     * running is left to complete, since it may be writing to the database, but its result is discarded.
+     */
+    protected void cancelRunningTasks() {
+        for (Task<?> task : new ArrayList<>(runningTasks)) {
+            task.cancel(false);
+        }
+        runningTasks.clear();
+        setLoading(false);
+    }
+
+    /**
+     * Shows or hides the loading indicator. The default implementation switches the scene's cursor;
+     * subclasses with their own progress indicator can override it.
+     *
+     * @param loading true while at least one background task is running
+     */
+    protected void setLoading(boolean loading) {
+        if (scene != null) {
+            scene.setCursor(loading ? Cursor.WAIT : Cursor.DEFAULT);
+        }
+    }
+
+    /**
+     * Remembers the scene this controller's view was placed in, for the loading indicator.
+     *
+     * @param scene the scene
+     */
+    private void attachScene(Scene scene) {
+        this.scene = scene;
+        setLoading(!runningTasks.isEmpty());
+    }
+
+    /**
+     * Forgets a finished task and hides the loading indicator once none are left.
+     */
+    private void taskFinished(Task<?> task) {
+        if (runningTasks.remove(task) && runningTasks.isEmpty()) {
+            setLoading(false);
+        }
+    }
+
     /**
      * Displays an error message in an alert dialog.
      *
@@ -1,27 +1,24 @@
 package com.zoomly.controllers;
 
-import com.zoomly.model.Reservation;
+import com.zoomly.dao.VehicleSearchCriteria;
 import com.zoomly.model.User;
 import com.zoomly.model.Vehicle;
+import com.zoomly.model.VehicleSummary;
 import com.zoomly.service.ReservationService;
 import com.zoomly.service.UserService;
 import com.zoomly.service.VehicleService;
 import javafx.collections.FXCollections;
+import javafx.concurrent.Task;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.geometry.Insets;
 import javafx.scene.control.*;
-import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
-import javafx.scene.layout.HBox;
-import javafx.scene.layout.Region;
-import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
-import javafx.scene.text.Font;
 
-import java.io.File;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -40,9 +37,9 @@ public class BrowsVehiclesController extends BaseMenuController {
 
     @FXML private Label selectedVehicleLabel;
     @FXML private Label reservationErrorLabel;
+    @FXML private Label vehicleDetailsLabel;
 
-    @FXML private VBox vehicleCardContainer;
-    @FXML private ScrollPane vehicleScrollPane;
+    @FXML private ListView<VehicleSummary> vehicleListView;
 
     @FXML private DatePicker pickupDatePicker;
     @FXML private DatePicker dropOffDatePicker;
@@ -56,9 +53,12 @@ public class BrowsVehiclesController extends BaseMenuController {
 
     private final UserService userService = UserService.getInstance();
     private final VehicleService vehicleService = VehicleService.getInstance();
+    private final ReservationService reservationService = ReservationService.getInstance();
 
-    private VBox selectedCard = null;
-    private Vehicle selectedVehicle = null;
+    private VehicleSummary selectedVehicle = null;
+    private List<VehicleSummary> catalog = List.of();
+    private Task<List<VehicleSummary>> vehicleQuery;
+    private Task<Optional<Vehicle>> detailsQuery;
 
     /**
      * Initializes the controller by loading current user data, setting up date pickers,
@@ -68,8 +68,16 @@ public class BrowsVehiclesController extends BaseMenuController {
     private void initialize() {
         loadCurrentUserData();
 
-        vehicleScrollPane.setFitToWidth(true);
-        vehicleScrollPane.setStyle("-fx-background: #101010; -fx-border-color: #101010;");
+        vehicleListView.setCellFactory(list -> new VehicleCardCell());
+        vehicleListView.setFixedCellSize(VehicleCardCell.CELL_HEIGHT);
+        vehicleListView.setStyle("-fx-background-color: #101010; -fx-control-inner-background: #101010; -fx-padding: 10;");
+        vehicleListView.getSelectionModel().selectedItemProperty().addListener((obs, oldVehicle, vehicle) -> {
+            selectedVehicle = vehicle;
+            if (vehicle != null && selectedVehicleLabel != null) {
+                selectedVehicleLabel.setText("Selected: " + vehicle.getMake() + " " + vehicle.getModel());
+            }
+            showVehicleDetails(vehicle);
+        });
 
         pickupDatePicker.setValue(LocalDate.now());
         pickupDatePicker.setDayCellFactory(picker -> new DateCell() {
@@ -86,10 +94,12 @@ public class BrowsVehiclesController extends BaseMenuController {
             }
         });
 
+        pickupDatePicker.valueProperty().addListener((obs, oldDate, newDate) -> refreshAvailability());
+        dropOffDatePicker.valueProperty().addListener((obs, oldDate, newDate) -> refreshAvailability());
+
         makeChoiceBox.setOnAction(e -> handleMakeSelection());
         modelChoiceBox.setOnAction(e -> handleModelSelection());
 
-        populateMakeChoiceBox();
 
         userProfileButton.setOnAction(this::handleUserProfile);
         reservationsButton.setOnAction(this::handleReservations);
@@ -98,7 +108,7 @@ public class BrowsVehiclesController extends BaseMenuController {
         reserveButton.setOnAction(this::handleReservation);
         filterButton.setOnAction(this::handleFilter);
 
-        loadVehicles();
+        loadCatalog();
     }
 
     /**
@@ -108,12 +118,31 @@ public class BrowsVehiclesController extends BaseMenuController {
         User currentUser = userService.getCurrentUser();
     }
 
+    /**
+     * Loads the vehicle catalog in the background, then fills the make and model choice boxes.
+     * Every vehicle is shown, unless both dates are already set, in which case the list is
+     * searched for vehicles free for that period instead.
+     */
+    private void loadCatalog() {
+        runAsync(vehicleService::getVehicleSummaries, vehicles -> {
+            catalog = vehicles;
+            populateMakeChoiceBox(vehicles);
+            if (hasValidDates()) {
+                handleFilter(null);
+            } else {
+                showVehicles(vehicles);
+            }
+        });
+    }
+
     /**
      * Populates the make choice box with available vehicle makes.
+     *
+     * @param vehicles the vehicle catalog
      */
-    private void populateMakeChoiceBox() {
-        List<String> makes = vehicleService.getAllVehicles().stream()
-                .map(Vehicle::getMake)
+    private void populateMakeChoiceBox(List<VehicleSummary> vehicles) {
+        List<String> makes = vehicles.stream()
+                .map(VehicleSummary::getMake)
                 .distinct()
                 .sorted()
                 .collect(Collectors.toList());
@@ -123,22 +152,22 @@ public class BrowsVehiclesController extends BaseMenuController {
         makeChoiceBox.setItems(FXCollections.observableArrayList(makes));
         makeChoiceBox.setValue("All");
 
-        populateModelChoiceBox("All");
+        populateModelChoiceBox("All", vehicles);
     }
 
-    private void populateModelChoiceBox(String selectedMake) {
+    private void populateModelChoiceBox(String selectedMake, List<VehicleSummary> vehicles) {
         List<String> models;
 
         if ("All".equals(selectedMake)) {
-            models = vehicleService.getAllVehicles().stream()
-                    .map(Vehicle::getModel)
+            models = vehicles.stream()
+                    .map(VehicleSummary::getModel)
                     .distinct()
                     .sorted()
                     .collect(Collectors.toList());
         } else {
-            models = vehicleService.getAllVehicles().stream()
+            models = vehicles.stream()
                     .filter(v -> v.getMake().equals(selectedMake))
-                    .map(Vehicle::getModel)
+                    .map(VehicleSummary::getModel)
                     .distinct()
                     .sorted()
                     .collect(Collectors.toList());
@@ -152,164 +181,79 @@ public class BrowsVehiclesController extends BaseMenuController {
 
     /**
      * Handles the selection of a vehicle make in the choice box.
-     * Loads the models corresponding to the selected make.
+     * Fills the model choice box from the catalog and searches for vehicles of the selected make.
      */
     private void handleMakeSelection() {
         String selectedMake = makeChoiceBox.getValue();
-
-        if (selectedMake == null || selectedMake.equals("All")) {
-            modelChoiceBox.setItems(FXCollections.observableArrayList("All"));
-            modelChoiceBox.setValue("All");
-            loadVehicles();
-        } else {
-            List<String> models = vehicleService.getAllVehicles().stream()
-                    .filter(v -> v.getMake().equals(selectedMake))
-                    .map(Vehicle::getModel)
-                    .distinct()
-                    .collect(Collectors.toList());
-
-            models.add("All");
-            modelChoiceBox.setItems(FXCollections.observableArrayList(models));
-            modelChoiceBox.setValue("All");
-
-            loadVehiclesByMake(selectedMake);
-        }
+        populateModelChoiceBox(selectedMake == null ? "All" : selectedMake, catalog);
+        handleFilter(null);
     }
 
-
     /**
-     * Loads the vehicles filtered by the selected make.
-     *
-     * @param make the selected vehicle make
+     * Handles the selection of a vehicle model in the choice box.
+     * Searches for vehicles of the selected make and model.
      */
-    private void loadVehiclesByMake(String make) {
-        List<Vehicle> vehicles;
-
-        if (make == null || make.equals("None")) {
-            vehicles = vehicleService.getAllVehicles();
-        } else {
-            vehicles = vehicleService.getAllVehicles().stream()
-                    .filter(v -> v.getMake().equals(make))
-                    .collect(Collectors.toList());
-        }
-
-        vehicleCardContainer.getChildren().clear();
-
-        for (Vehicle vehicle : vehicles) {
-            VBox card = createVehicleCard(vehicle);
-            vehicleCardContainer.getChildren().add(card);
-        }
+    private void handleModelSelection() {
+        handleFilter(null);
     }
 
     /**
-     * Handles the selection of a vehicle model in the choice box.
-     * Loads vehicles corresponding to the selected model.
+     * Runs a vehicle query in the background. A query still running from an earlier selection
+     * is cancelled, so an older, slower result never replaces a newer one.
+     *
+     * @param query the query to run
+     * @param onLoaded receives the vehicles on the JavaFX application thread
      */
-    private void handleModelSelection() {
-        String selectedMake = makeChoiceBox.getValue();
-        String selectedModel = modelChoiceBox.getValue();
-
-        List<Vehicle> vehicles = vehicleService.getAllVehicles();
-
-        if (selectedMake != null && !selectedMake.equals("All")) {
-            vehicles = vehicles.stream()
-                    .filter(v -> v.getMake().equals(selectedMake))
-                    .collect(Collectors.toList());
-        }
-
-        if (selectedModel != null && !selectedModel.equals("All")) {
-            vehicles = vehicles.stream()
-                    .filter(v -> v.getModel().equals(selectedModel))
-                    .collect(Collectors.toList());
-        }
-
-        vehicleCardContainer.getChildren().clear();
-        for (Vehicle vehicle : vehicles) {
-            VBox card = createVehicleCard(vehicle);
-            vehicleCardContainer.getChildren().add(card);
+    private void loadVehicleList(Callable<List<VehicleSummary>> query, Consumer<List<VehicleSummary>> onLoaded) {
+        if (vehicleQuery != null) {
+            vehicleQuery.cancel(false);
         }
+        vehicleQuery = runAsync(query, onLoaded, error -> {
+            reservationErrorLabel.setText("Could not load vehicles: " + error.getMessage());
+            reservationErrorLabel.setTextFill(Color.RED);
+        });
     }
 
-
     /**
-     * Loads all available vehicles and displays them in the vehicle card container.
+     * Replaces the displayed vehicles. The list only builds cards for the rows on screen.
+     *
+     * @param vehicles the vehicles to display
      */
-    private void loadVehicles() {
-        List<Vehicle> vehicles = vehicleService.getAllVehicles();
-        vehicleCardContainer.getChildren().clear();
-
-        for (Vehicle vehicle : vehicles) {
-            VBox card = createVehicleCard(vehicle);
-            vehicleCardContainer.getChildren().add(card);
-        }
+    private void showVehicles(List<VehicleSummary> vehicles) {
+        vehicleListView.getItems().setAll(vehicles);
     }
 
     /**
-     * Creates a vehicle card with the provided vehicle details.
+     * Shows the selected vehicle's details above the list. The listing only holds summaries,
+     * so the full vehicle, description included, is loaded in the background when it is selected.
      *
-     * @param vehicle the vehicle object containing the details to be displayed
-     * @return a VBox representing the vehicle card
+     * @param vehicle the selected vehicle, or null to clear the details
      */
-    private VBox createVehicleCard(Vehicle vehicle) {
-        VBox card = new VBox(10);
-        card.setPadding(new Insets(12));
-        card.setStyle("-fx-background-color: #2a2a2a; -fx-background-radius: 8;");
-        card.setPrefWidth(Region.USE_COMPUTED_SIZE);
-
-        card.setOnMouseEntered(e -> card.setStyle("-fx-background-color: #3a3a3a; -fx-background-radius: 8;"));
-        card.setOnMouseExited(e -> card.setStyle("-fx-background-color: #2a2a2a; -fx-background-radius: 8;"));
-
-        HBox topRow = new HBox(15);
-        ImageView imageView = new ImageView();
-        imageView.setFitWidth(160);
-        imageView.setFitHeight(100);
-        imageView.setPreserveRatio(true);
-
-        File file = new File(vehicle.getImagePath());
-        if (file.exists()) {
-            imageView.setImage(new Image(file.toURI().toString()));
-        } else {
-            imageView.setImage(new Image("/vehicle_imgs/default_car.png"));
+    private void showVehicleDetails(VehicleSummary vehicle) {
+        if (detailsQuery != null) {
+            detailsQuery.cancel(false);
+            detailsQuery = null;
+        }
+        if (vehicle == null) {
+            vehicleDetailsLabel.setText("");
+            return;
         }
 
-        VBox infoBox = new VBox(5);
-        Label titleLabel = new Label(vehicle.getMake() + " " + vehicle.getModel());
-        titleLabel.setFont(Font.font("System Bold", 14));
-        titleLabel.setTextFill(Color.web("#6fbf4e"));
-
-        Label yearLabel = new Label("Year: " + vehicle.getYear());
-        Label mileageLabel = new Label(String.format("Mileage: %.0f km", vehicle.getMileage()));
-        Label priceLabel = new Label(String.format("Price/Day: $%.2f", vehicle.getPricePerDay()));
-        yearLabel.setTextFill(Color.WHITE);
-        mileageLabel.setTextFill(Color.WHITE);
-        priceLabel.setTextFill(Color.WHITE);
-
-        infoBox.getChildren().addAll(titleLabel, yearLabel, mileageLabel, priceLabel);
-        topRow.getChildren().addAll(imageView, infoBox);
-
-        Label descLabel = new Label(vehicle.getDescription());
-        descLabel.setWrapText(true);
-        descLabel.setTextFill(Color.LIGHTGRAY);
-        descLabel.setFont(Font.font(11));
-
-        card.getChildren().addAll(topRow, descLabel);
-
-        card.setOnMouseClicked(e -> {
-            if (selectedCard != null) {
-                selectedCard.setStyle("-fx-background-color: #2a2a2a; -fx-background-radius: 8;");
-            }
-
-            selectedCard = card;
-            selectedVehicle = vehicle;
-
-            if (selectedVehicleLabel != null) {
-                selectedVehicleLabel.setText("Selected: " + vehicle.getMake() + " " + vehicle.getModel());
-            }
-
-            card.setStyle("-fx-background-color: #3d3d3d; -fx-background-radius: 8;");
+        String title = vehicle.getYear() + " " + vehicle.getMake() + " " + vehicle.getModel();
+        vehicleDetailsLabel.setText(title);
+        int vehicleId = vehicle.getId();
+        detailsQuery = runAsync(() -> vehicleService.getVehicleById(vehicleId), details -> {
+            detailsQuery = null;
+            details.ifPresent(full -> {
+                String description = full.getDescription();
+                if (description != null && !description.isBlank()) {
+                    vehicleDetailsLabel.setText(title + " - " + description);
+                }
+            });
+        }, error -> {
+            detailsQuery = null;
+            error.printStackTrace();
         });
-
-        return card;
     }
 
     /**
@@ -342,20 +286,19 @@ public class BrowsVehiclesController extends BaseMenuController {
             return;
         }
 
-        try {
-            Reservation reservation = ReservationService.getInstance().createReservation(
-                    currentUser.getId(),
-                    selectedVehicle.getId(),
-                    java.sql.Date.valueOf(pickup),
-                    java.sql.Date.valueOf(dropOff)
-            );
-
+        int userId = currentUser.getId();
+        int vehicleId = selectedVehicle.getId();
+        runAsync(() -> reservationService.createReservation(
+                userId,
+                vehicleId,
+                java.sql.Date.valueOf(pickup),
+                java.sql.Date.valueOf(dropOff)
+        ), reservation -> {
             selectedVehicleLabel.setText("Vehicle Reserved");
             selectedVehicleLabel.setTextFill(Color.LIGHTGREEN);
             reservationErrorLabel.setText("");
-
-        } catch (IllegalArgumentException e) {
-            String message = e.getMessage();
+        }, error -> {
+            String message = error.getMessage();
             if (message != null && message.toLowerCase().contains("not available")) {
                 String conflictInfo = "";
                 int index = message.indexOf(":");
@@ -367,11 +310,32 @@ public class BrowsVehiclesController extends BaseMenuController {
                 reservationErrorLabel.setText("Reservation failed: " + message);
             }
             reservationErrorLabel.setTextFill(Color.RED);
+        });
+    }
+
+    /**
+     * Re-runs the current filters once both dates are set, so the list only shows vehicles that can be booked.
+     */
+    private void refreshAvailability() {
+        if (hasValidDates()) {
+            handleFilter(null);
         }
     }
 
+    /**
+     * Checks whether a pickup date and a later drop-off date are chosen.
+     *
+     * @return true if both dates are set and the drop-off is after the pickup
+     */
+    private boolean hasValidDates() {
+        LocalDate pickup = pickupDatePicker.getValue();
+        LocalDate dropOff = dropOffDatePicker.getValue();
+        return pickup != null && dropOff != null && dropOff.isAfter(pickup);
+    }
+
     /**
      * Handles the filter action by filtering vehicles based on the selected criteria.
+     * When a valid pickup and drop-off date are chosen, only vehicles free for that period are shown.
      *
      * @param event the ActionEvent triggered by the button press
      */
@@ -383,19 +347,36 @@ public class BrowsVehiclesController extends BaseMenuController {
         String price = pricePerDayTextField.getText();
         String year = yearTextField.getText();
 
-        List<Vehicle> filteredVehicles = vehicleService.getAllVehicles().stream()
-                .filter(v -> (selectedMake == null || selectedMake.equals("All") || v.getMake().equals(selectedMake)) &&
-                        (selectedModel == null || selectedModel.equals("All") || v.getModel().equals(selectedModel)) &&
-                        (mileage.isEmpty() || v.getMileage() <= Long.parseLong(mileage)) &&
-                        (price.isEmpty() || v.getPricePerDay() <= Double.parseDouble(price)) &&
-                        (year.isEmpty() || v.getYear() <= Integer.parseInt(year)))
-                .collect(Collectors.toList());
+        VehicleSearchCriteria criteria = new VehicleSearchCriteria();
+        if (selectedMake != null && !selectedMake.equals("All")) {
+            criteria.setMake(selectedMake);
+        }
+        if (selectedModel != null && !selectedModel.equals("All")) {
+            criteria.setModel(selectedModel);
+        }
+        try {
+            if (!mileage.isEmpty()) {
+                criteria.setMaxMileage((double) Long.parseLong(mileage.trim()));
+            }
+            if (!price.isEmpty()) {
+                criteria.setMaxPricePerDay(Double.parseDouble(price.trim()));
+            }
+            if (!year.isEmpty()) {
+                criteria.setMaxYear(Integer.parseInt(year.trim()));
+            }
+        } catch (NumberFormatException e) {
+            reservationErrorLabel.setText("Mileage, price and year filters must be numbers.");
+            reservationErrorLabel.setTextFill(Color.ORANGE);
+            return;
+        }
 
-        vehicleCardContainer.getChildren().clear();
-        for (Vehicle vehicle : filteredVehicles) {
-            VBox card = createVehicleCard(vehicle);
-            vehicleCardContainer.getChildren().add(card);
+        if (hasValidDates()) {
+            criteria.setAvailableBetween(java.sql.Date.valueOf(pickupDatePicker.getValue()),
+                    java.sql.Date.valueOf(dropOffDatePicker.getValue()));
         }
+
+        reservationErrorLabel.setText("");
+        loadVehicleList(() -> vehicleService.searchVehicleSummaries(criteria), this::showVehicles);
     }
 
 
@@ -4,8 +4,6 @@ import com.zoomly.model.Reservation;
 import com.zoomly.service.ReservationService;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.SimpleObjectProperty;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
@@ -14,7 +12,6 @@ import javafx.util.converter.DoubleStringConverter;
 
 import java.sql.Date;
 import java.time.LocalDate;
-import java.util.List;
 
 /**
  * ManageReservationsController.java
@@ -47,6 +44,7 @@ public class ManageReservationsController extends BaseMenuController {
     @FXML private Button adminMenuButton;
 
     private final ReservationService reservationService = ReservationService.getInstance();
+    private PagedTableSource<Reservation> reservationPages;
 
     /**
      * Initializes the controller by setting up the table, loading reservations,
@@ -84,11 +82,18 @@ public class ManageReservationsController extends BaseMenuController {
             Reservation reservation = event.getRowValue();
             double newCharge = event.getNewValue();
             reservation.setTotalCharge(newCharge);
-            reservationService.updateReservation(reservation);
-            loadReservations();
+            runAsync(() -> reservationService.updateReservation(reservation),
+                    updated -> reservationsTableView.refresh(),
+                    error -> {
+                        errorLabel.setText("Error updating total charge: " + error.getMessage());
+                        loadReservations();
+                    });
         });
 
         reservationsTableView.setEditable(true);
+
+        reservationPages = new PagedTableSource<>(this, reservationsTableView, reservationService::getReservationsPage,
+                Reservation::getId, error -> errorLabel.setText("Failed to load reservations: " + error.getMessage()));
     }
 
     /**
@@ -111,12 +116,11 @@ public class ManageReservationsController extends BaseMenuController {
     }
 
     /**
-     * Loads the list of all reservations from the ReservationService and populates the table view with them.
+     * Reloads the reservations table from its first page. Later pages load in the background
+     * as the table is scrolled.
      */
     private void loadReservations() {
-        List<Reservation> reservationList = reservationService.getAllReservations();
-        ObservableList<Reservation> observableList = FXCollections.observableArrayList(reservationList);
-        reservationsTableView.setItems(observableList);
+        reservationPages.reload();
     }
 
     /**
@@ -149,17 +153,22 @@ public class ManageReservationsController extends BaseMenuController {
         selected.setPickupDate(Date.valueOf(newPickup));
         selected.setDropOffDate(Date.valueOf(newDropOff));
 
-        try {
-            reservationService.updateReservationDates(selected.getId(), selected.getPickupDate(), selected.getDropOffDate());
-
+        int reservationId = selected.getId();
+        Date pickupDate = selected.getPickupDate();
+        Date dropOffDate = selected.getDropOffDate();
+        runAsync(() -> {
+            reservationService.updateReservationDates(reservationId, pickupDate, dropOffDate);
+            return null;
+        }, ignored -> {
             errorLabel.setText("Reservation dates updated successfully.");
-            loadReservations();
-
-        } catch (IllegalArgumentException e) {
-            errorLabel.setText(e.getMessage());
-        } catch (Exception e) {
-            errorLabel.setText("Error updating reservation: " + e.getMessage());
-        }
+            reservationsTableView.refresh();
+        }, error -> {
+            if (error instanceof IllegalArgumentException) {
+                errorLabel.setText(error.getMessage());
+            } else {
+                errorLabel.setText("Error updating reservation: " + error.getMessage());
+            }
+        });
     }
 
     /**
@@ -175,17 +184,16 @@ public class ManageReservationsController extends BaseMenuController {
             return;
         }
 
+        int reservationId = selected.getId();
         double newTotalCharge = selected.getTotalCharge();
 
-        try {
-            reservationService.updateTotalCharge(selected.getId(), newTotalCharge);
-
+        runAsync(() -> {
+            reservationService.updateTotalCharge(reservationId, newTotalCharge);
+            return null;
+        }, ignored -> {
             errorLabel.setText("Total charge updated successfully.");
-            loadReservations();
-
-        } catch (Exception e) {
-            errorLabel.setText("Error updating total charge: " + e.getMessage());
-        }
+            reservationsTableView.refresh();
+        }, error -> errorLabel.setText("Error updating total charge: " + error.getMessage()));
     }
 
     /**
@@ -201,9 +209,14 @@ public class ManageReservationsController extends BaseMenuController {
             return;
         }
 
-        reservationService.cancelReservation(selected.getId());
-        errorLabel.setText("Reservation canceled.");
-        loadReservations();
+        int reservationId = selected.getId();
+        runAsync(() -> {
+            reservationService.cancelReservation(reservationId);
+            return null;
+        }, ignored -> {
+            errorLabel.setText("Reservation canceled.");
+            loadReservations();
+        }, error -> errorLabel.setText("Error canceling reservation: " + error.getMessage()));
     }
 
     /**
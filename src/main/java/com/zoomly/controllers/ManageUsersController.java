@@ -3,10 +3,12 @@ package com.zoomly.controllers;
 import com.zoomly.model.User;
 import com.zoomly.service.UserService;
 import com.zoomly.util.FileLoader;
+import com.zoomly.util.ImportSummary;
 import com.zoomly.util.UserValidator;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
+import javafx.event.Event;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.TableColumn;
@@ -15,10 +17,6 @@ import javafx.scene.control.TextField;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.control.cell.TextFieldTableCell;
 
-import java.io.ByteArrayOutputStream;
-import java.io.PrintStream;
-import java.util.List;
-
 /**
  * ManageUsersController.java
  * Controller class for managing user operations in the application.
@@ -53,6 +51,7 @@ public class ManageUsersController extends BaseMenuController {
 
     private UserService userService;
     private ObservableList<User> userList;
+    private PagedTableSource<User> userPages;
 
     /**
      * Default constructor for the ManageUsersController.
@@ -94,15 +93,7 @@ public class ManageUsersController extends BaseMenuController {
             String newValue = event.getNewValue();
 
             user.setFirstName(newValue);
-            try {
-                UserValidator.validate(user);
-                userService.updateUser(user);
-            } catch (IllegalArgumentException e) {
-                errorTextField.setText(e.getMessage());
-                user.setFirstName(originalValue);
-                usersTableView.refresh();
-                event.consume();
-            }
+            saveUserEdit(user, () -> user.setFirstName(originalValue), event);
         });
 
         lastNameColumn.setOnEditCommit(event -> {
@@ -111,15 +102,7 @@ public class ManageUsersController extends BaseMenuController {
             String newValue = event.getNewValue();
 
             user.setLastName(newValue);
-            try {
-                UserValidator.validate(user);
-                userService.updateUser(user);
-            } catch (IllegalArgumentException e) {
-                errorTextField.setText(e.getMessage());
-                user.setLastName(originalValue);
-                usersTableView.refresh();
-                event.consume();
-            }
+            saveUserEdit(user, () -> user.setLastName(originalValue), event);
         });
 
         emailColumn.setOnEditCommit(event -> {
@@ -128,15 +111,7 @@ public class ManageUsersController extends BaseMenuController {
             String newValue = event.getNewValue();
 
             user.setEmail(newValue);
-            try {
-                UserValidator.validate(user);
-                userService.updateUser(user);
-            } catch (IllegalArgumentException e) {
-                errorTextField.setText(e.getMessage());
-                user.setEmail(originalValue);
-                usersTableView.refresh();
-                event.consume();
-            }
+            saveUserEdit(user, () -> user.setEmail(originalValue), event);
         });
 
         passwordColumn.setOnEditCommit(event -> {
@@ -145,15 +120,7 @@ public class ManageUsersController extends BaseMenuController {
             String newValue = event.getNewValue();
 
             user.setPassword(newValue);
-            try {
-                UserValidator.validate(user);
-                userService.updateUser(user);
-            } catch (IllegalArgumentException e) {
-                errorTextField.setText(e.getMessage());
-                user.setPassword(originalValue);
-                usersTableView.refresh();
-                event.consume();
-            }
+            saveUserEdit(user, () -> user.setPassword(originalValue), event);
         });
 
         accountTypeColumn.setOnEditCommit(event -> {
@@ -162,28 +129,51 @@ public class ManageUsersController extends BaseMenuController {
             String newValue = event.getNewValue();
 
             user.setAccountType(newValue);
-            try {
-                UserValidator.validate(user);
-                userService.updateUser(user);
-            } catch (IllegalArgumentException e) {
-                errorTextField.setText(e.getMessage());
-                user.setAccountType(originalValue);
-                usersTableView.refresh();
-                event.consume();
-            }
+            saveUserEdit(user, () -> user.setAccountType(originalValue), event);
         });
 
         userList = FXCollections.observableArrayList();
         usersTableView.setItems(userList);
         usersTableView.setEditable(true);
+
+        userPages = new PagedTableSource<>(this, usersTableView, userService::getUsersPage, User::getId,
+                error -> errorTextField.setText("Failed to load users: " + error.getMessage()));
     }
 
     /**
-     * Loads the list of users into the table view.
+     * Validates an edited user and saves it in the background.
+     * If validation or the update fails, the edit is reverted and the error is shown.
+     *
+     * @param user the edited user
+     * @param revert restores the edited field's original value
+     * @param event the edit event
+     */
+    private void saveUserEdit(User user, Runnable revert, Event event) {
+        try {
+            UserValidator.validate(user);
+        } catch (IllegalArgumentException e) {
+            errorTextField.setText(e.getMessage());
+            revert.run();
+            usersTableView.refresh();
+            event.consume();
+            return;
+        }
+
+        runAsync(() -> {
+            userService.updateUser(user);
+            return null;
+        }, ignored -> { }, error -> {
+            errorTextField.setText(error.getMessage());
+            revert.run();
+            usersTableView.refresh();
+        });
+    }
+
+    /**
+     * Reloads the users table from its first page. Later pages load in the background as the table is scrolled.
      */
     private void loadUsersIntoTable() {
-        List<User> users = userService.getAllUsers();
-        userList.setAll(users);
+        userPages.reload();
     }
 
     /**
@@ -194,27 +184,30 @@ public class ManageUsersController extends BaseMenuController {
      */
     @FXML
     private void handleAddUser(ActionEvent event) {
-        try {
-            String firstName = firstNameTextField.getText();
-            String lastName = lastNameTextField.getText();
-            String email = emailTextField.getText();
-            String password = passwordTextField.getText();
-            String accountType = accountTypeTextField.getText();
+        String firstName = firstNameTextField.getText();
+        String lastName = lastNameTextField.getText();
+        String email = emailTextField.getText();
+        String password = passwordTextField.getText();
+        String accountType = accountTypeTextField.getText();
 
+        runAsync(() -> {
             if (userService.isEmailRegistered(email)) {
-                errorTextField.setText("Email is already registered.");
-                return;
+                return false;
             }
 
             User newUser = new User(0, firstName, lastName, email, password, accountType);
             UserValidator.validate(newUser);
 
             userService.registerUser(firstName, lastName, email, password, accountType);
+            return true;
+        }, added -> {
+            if (!added) {
+                errorTextField.setText("Email is already registered.");
+                return;
+            }
             loadUsersIntoTable();
             errorTextField.setText("User added successfully.");
-        } catch (IllegalArgumentException e) {
-            errorTextField.setText(e.getMessage());
-        }
+        }, error -> errorTextField.setText(error.getMessage()));
     }
 
     /**
@@ -231,13 +224,14 @@ public class ManageUsersController extends BaseMenuController {
             return;
         }
 
-        try {
-            userService.deleteUser(selectedUser.getId());
+        int userId = selectedUser.getId();
+        runAsync(() -> {
+            userService.deleteUser(userId);
+            return null;
+        }, ignored -> {
             loadUsersIntoTable();
             errorTextField.setText("User deleted successfully.");
-        } catch (Exception e) {
-            errorTextField.setText("Error deleting user: " + e.getMessage());
-        }
+        }, error -> errorTextField.setText("Error deleting user: " + error.getMessage()));
     }
 
     /**
@@ -251,22 +245,15 @@ public class ManageUsersController extends BaseMenuController {
         String filePath = uploadUsersTextField.getText();
         FileLoader fileLoader = new FileLoader(userService.getUserDao(), null);
 
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        PrintStream printStream = new PrintStream(outputStream);
-        PrintStream originalOut = System.out;
-        System.setOut(printStream);
-
-        try {
-            fileLoader.loadUsers(filePath);
+        errorTextField.setText("Importing users...");
+        runAsync(() -> fileLoader.loadUsers(filePath), summary -> {
             loadUsersIntoTable();
-        } catch (Exception e) {
-            System.out.println("Failed to load users: " + e.getMessage());
-        } finally {
-            System.setOut(originalOut);
-        }
-
-        String output = outputStream.toString();
-        errorTextField.setText(output);
+            String message = summary.toString();
+            if (!summary.getRejections().isEmpty()) {
+                message += ". First rejected: " + summary.getRejections().get(0);
+            }
+            errorTextField.setText(message);
+        }, error -> errorTextField.setText("Failed to load users: " + error.getMessage()));
     }
 
     /**
@@ -3,6 +3,7 @@ package com.zoomly.controllers;
 import com.zoomly.model.Vehicle;
 import com.zoomly.service.VehicleService;
 import com.zoomly.util.FileLoader;
+import com.zoomly.util.ImportSummary;
 import com.zoomly.util.VehicleValidator;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
@@ -12,9 +13,6 @@ import javafx.scene.control.cell.TextFieldTableCell;
 import javafx.util.converter.DoubleStringConverter;
 import javafx.util.converter.IntegerStringConverter;
 
-import java.io.IOException;
-import java.util.List;
-
 /**
  * ManageVehiclesController.java
  * Controller class responsible for managing vehicle-related actions in the application.
@@ -73,6 +71,7 @@ public class ManageVehiclesController extends BaseMenuController {
     private Label errorLabel;
 
     private VehicleService vehicleService;
+    private PagedTableSource<Vehicle> vehiclePages;
 
     /**
      * Constructor for ManageVehiclesController. Initializes the VehicleService.
@@ -128,6 +127,9 @@ public class ManageVehiclesController extends BaseMenuController {
                 System.out.println("Selected vehicle: " + newValue.getMake());
             }
         });
+
+        vehiclePages = new PagedTableSource<>(this, vehiclesTableView, vehicleService::getVehiclesPage, Vehicle::getId,
+                error -> errorLabel.setText("Failed to load vehicles: " + error.getMessage()));
     }
 
     /**
@@ -174,25 +176,32 @@ public class ManageVehiclesController extends BaseMenuController {
                     selectedVehicle.setImagePath(newValue);
                     break;
             }
-
-            vehicleService.updateVehicle(
-                    selectedVehicle.getId(),
-                    selectedVehicle.getVin(),
-                    selectedVehicle.getMake(),
-                    selectedVehicle.getModel(),
-                    selectedVehicle.getYear(),
-                    selectedVehicle.getMileage(),
-                    selectedVehicle.getPricePerDay(),
-                    selectedVehicle.getImagePath(),
-                    selectedVehicle.getDescription()
-            );
-
-            loadVehicles();
-            errorLabel.setText("");
         } catch (Exception e) {
             errorLabel.setText("Error updating vehicle: " + e.getMessage());
             revertVehicleField(event, originalValue);
+            return;
         }
+
+        int id = selectedVehicle.getId();
+        String vin = selectedVehicle.getVin();
+        String make = selectedVehicle.getMake();
+        String model = selectedVehicle.getModel();
+        int year = selectedVehicle.getYear();
+        double mileage = selectedVehicle.getMileage();
+        double pricePerDay = selectedVehicle.getPricePerDay();
+        String imagePath = selectedVehicle.getImagePath();
+        String description = selectedVehicle.getDescription();
+
+        runAsync(() -> {
+            vehicleService.updateVehicle(id, vin, make, model, year, mileage, pricePerDay, imagePath, description);
+            return null;
+        }, ignored -> {
+            vehiclesTableView.refresh();
+            errorLabel.setText("");
+        }, error -> {
+            errorLabel.setText("Error updating vehicle: " + error.getMessage());
+            revertVehicleField(event, originalValue);
+        });
     }
 
 
@@ -240,12 +249,10 @@ public class ManageVehiclesController extends BaseMenuController {
     }
 
     /**
-     * Loads the list of vehicles from the vehicle service and updates the TableView.
+     * Reloads the vehicles table from its first page. Later pages load in the background as the table is scrolled.
      */
     private void loadVehicles() {
-        List<Vehicle> vehicles = vehicleService.getAllVehicles();
-        vehiclesTableView.getItems().clear();
-        vehiclesTableView.getItems().addAll(vehicles);
+        vehiclePages.reload();
     }
 
     /**
@@ -264,15 +271,17 @@ public class ManageVehiclesController extends BaseMenuController {
         String imagePath = imagePathTextField.getText();
         String description = descriptionTextField.getText();
 
-        try {
-            Vehicle vehicle = vehicleService.addVehicle(vin, make, model, year, mileage, pricePerDay, imagePath, description);
-            loadVehicles();
-            errorLabel.setText("Vehicle added successfully: " + vehicle);
-        } catch (IllegalArgumentException e) {
-            errorLabel.setText("Error: " + e.getMessage());
-        } catch (Exception e) {
-            errorLabel.setText("An unexpected error occurred: " + e.getMessage());
-        }
+        runAsync(() -> vehicleService.addVehicle(vin, make, model, year, mileage, pricePerDay, imagePath, description),
+                vehicle -> {
+                    loadVehicles();
+                    errorLabel.setText("Vehicle added successfully: " + vehicle);
+                }, error -> {
+                    if (error instanceof IllegalArgumentException) {
+                        errorLabel.setText("Error: " + error.getMessage());
+                    } else {
+                        errorLabel.setText("An unexpected error occurred: " + error.getMessage());
+                    }
+                });
     }
 
     /**
@@ -284,10 +293,14 @@ public class ManageVehiclesController extends BaseMenuController {
     private void handleDeleteVehicle(ActionEvent event) {
         Vehicle selectedVehicle = vehiclesTableView.getSelectionModel().getSelectedItem();
         if (selectedVehicle != null) {
-            vehicleService.deleteVehicle(selectedVehicle.getId());
-            loadVehicles();
-            vehiclesTableView.getSelectionModel().clearSelection();
-            errorLabel.setText("Vehicle deleted: " + selectedVehicle.getVin());
+            runAsync(() -> {
+                vehicleService.deleteVehicle(selectedVehicle.getId());
+                return null;
+            }, ignored -> {
+                loadVehicles();
+                vehiclesTableView.getSelectionModel().clearSelection();
+                errorLabel.setText("Vehicle deleted: " + selectedVehicle.getVin());
+            }, error -> errorLabel.setText("Error deleting vehicle: " + error.getMessage()));
         } else {
             errorLabel.setText("Please select a vehicle to delete.");
         }
@@ -303,13 +316,19 @@ public class ManageVehiclesController extends BaseMenuController {
         String filePath = uploadVehiclesTextField.getText();
         FileLoader fileLoader = new FileLoader(null, vehicleService.getVehicleDao());
 
-        try {
-            fileLoader.loadVehicles(filePath);
+        errorLabel.setText("Importing vehicles...");
+        runAsync(() -> {
+            ImportSummary summary = fileLoader.loadVehicles(filePath);
+            vehicleService.invalidateCatalog();
+            return summary;
+        }, summary -> {
             loadVehicles();
-            errorLabel.setText("Vehicles loaded successfully.");
-        } catch (IOException e) {
-            errorLabel.setText("Failed to load vehicles: " + e.getMessage());
-        }
+            String message = summary.toString();
+            if (!summary.getRejections().isEmpty()) {
+                message += ". First rejected: " + summary.getRejections().get(0);
+            }
+            errorLabel.setText(message);
+        }, error -> errorLabel.setText("Failed to load vehicles: " + error.getMessage()));
     }
 
     /**
@@ -0,0 +1,177 @@
+package com.zoomly.controllers;
+
+import javafx.concurrent.Task;
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * PagedTableSource.java
+ * Fills a TableView one page at a time instead of loading the whole table up front.
+ *
+ * The first page is loaded by reload(), and the next page is requested in the background
+ * once the user scrolls near the bottom of the rows loaded so far. Pages are fetched with
+ * keyset pagination: each request asks for the rows after the last ID already shown, so
+ * opening the screen and scrolling cost the same however large the table is.
+ *
+ * Rows arrive in ID order, so column sorting is turned off; sorting only the loaded rows
+ * would put the next page out of order.
+ *
+ * @param <T> the row type
+ */
+public class PagedTableSource<T> {
+    /**
+     * Loads the page of rows that follows a given ID.
+     *
+     * @param <T> the row type
+     */
+    @FunctionalInterface
+    public interface PageLoader<T> {
+        /**
+         * Returns up to pageSize rows with an ID greater than afterId, in ascending ID order.
+         *
+         * @param afterId the ID of the last row already loaded; 0 for the first page
+         * @param pageSize the maximum number of rows to return
+         * @return the rows of the page
+         * @throws Exception if the page could not be loaded
+         */
+        List<T> loadPage(int afterId, int pageSize) throws Exception;
+    }
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    /**
+     * The next page is requested once the table has been scrolled this far down.
+     */
+    private static final double PREFETCH_POSITION = 0.8;
+
+    private final BaseMenuController owner;
+    private final TableView<T> table;
+    private final PageLoader<T> loader;
+    private final ToIntFunction<T> idOf;
+    private final Consumer<Throwable> onFailure;
+    private final int pageSize;
+
+    private int lastId;
+    private boolean exhausted;
+    private Task<List<T>> pageTask;
+
+    /**
+     * Creates a source for a table with the default page size.
+     *
+     * @param owner the controller whose background tasks load the pages
+     * @param table the table to fill
+     * @param loader loads a page of rows
+     * @param idOf returns a row's ID
+     * @param onFailure receives the exception when a page fails to load
+     */
+    public PagedTableSource(BaseMenuController owner, TableView<T> table, PageLoader<T> loader,
+                            ToIntFunction<T> idOf, Consumer<Throwable> onFailure) {
+        this(owner, table, loader, idOf, onFailure, DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Creates a source for a table.
+     *
+     * @param owner the controller whose background tasks load the pages
+     * @param table the table to fill
+     * @param loader loads a page of rows
+     * @param idOf returns a row's ID
+     * @param onFailure receives the exception when a page fails to load
+     * @param pageSize the number of rows to load at a time; should be more than fit on screen
+     */
+    public PagedTableSource(BaseMenuController owner, TableView<T> table, PageLoader<T> loader,
+                            ToIntFunction<T> idOf, Consumer<Throwable> onFailure, int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+        this.owner = owner;
+        this.table = table;
+        this.loader = loader;
+        this.idOf = idOf;
+        this.onFailure = onFailure;
+        this.pageSize = pageSize;
+
+        for (TableColumn<T, ?> column : table.getColumns()) {
+            column.setSortable(false);
+        }
+
+        if (table.getSkin() != null) {
+            watchScrollBar();
+        }
+        table.skinProperty().addListener((obs, oldSkin, newSkin) -> {
+            if (newSkin != null) {
+                watchScrollBar();
+            }
+        });
+    }
+
+    /**
+     * Discards the loaded rows and loads the first page again.
+     */
+    public void reload() {
+        if (pageTask != null) {
+            pageTask.cancel(false);
+            pageTask = null;
+        }
+        lastId = 0;
+        exhausted = false;
+        table.getItems().clear();
+        loadNextPage();
+    }
+
+    /**
+     * Loads the next page in the background unless a page is already loading or every row has been loaded.
+     */
+    public void loadNextPage() {
+        if (exhausted || pageTask != null) {
+            return;
+        }
+
+        int afterId = lastId;
+        pageTask = owner.runAsync(() -> loader.loadPage(afterId, pageSize), page -> {
+            pageTask = null;
+            table.getItems().addAll(page);
+            if (!page.isEmpty()) {
+                lastId = idOf.applyAsInt(page.get(page.size() - 1));
+            }
+            exhausted = page.size() < pageSize;
+        }, error -> {
+            pageTask = null;
+            onFailure.accept(error);
+        });
+    }
+
+    /**
+     * Checks whether every row of the table has been loaded.
+     *
+     * @return true once a page came back shorter than the page size
+     */
+    public boolean isExhausted() {
+        return exhausted;
+    }
+
+    /**
+     * Requests the next page whenever the table's vertical scroll bar nears its end.
+     * The scroll bar belongs to the table's skin, so this runs once the skin exists.
+     */
+    private void watchScrollBar() {
+        for (Node node : table.lookupAll(".scroll-bar")) {
+            if (node instanceof ScrollBar && ((ScrollBar) node).getOrientation() == Orientation.VERTICAL) {
+                ScrollBar scrollBar = (ScrollBar) node;
+                scrollBar.valueProperty().addListener((obs, oldValue, newValue) -> {
+                    double range = scrollBar.getMax() - scrollBar.getMin();
+                    if (range > 0 && (newValue.doubleValue() - scrollBar.getMin()) / range >= PREFETCH_POSITION) {
+                        loadNextPage();
+                    }
+                });
+            }
+        }
+    }
+}
@@ -6,13 +6,13 @@ import com.zoomly.model.Vehicle;
 import com.zoomly.service.ReservationService;
 import com.zoomly.service.UserService;
 import com.zoomly.service.VehicleService;
+import com.zoomly.util.ImageCache;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.geometry.Insets;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.ScrollPane;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
@@ -21,7 +21,6 @@ import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 
-import java.io.File;
 import java.util.List;
 
 /**
@@ -86,20 +85,28 @@ public class ReservationsController extends BaseMenuController {
     }
 
     /**
-     * Creates and displays reservation cards for the current user's reservations.
-     * Each card displays vehicle details, reservation information, and a cancel button.
+     * Loads the current user's reservations in the background and displays them as cards.
      *
      * @param event The event triggered by the user action (not used in this case)
      */
     @FXML
     private void createReservationCard(ActionEvent event) {
-        List<Reservation> reservations = reservationService.getUserReservations(userService.getCurrentUser().getId());
+        int userId = userService.getCurrentUser().getId();
+        runAsync(() -> reservationService.getUserReservationsWithVehicles(userId), this::showReservationCards);
+    }
 
+    /**
+     * Creates and displays reservation cards for the given reservations.
+     * Each card displays vehicle details, reservation information, and a cancel button.
+     *
+     * @param reservations the reservations to display, with their vehicles loaded
+     */
+    private void showReservationCards(List<Reservation> reservations) {
         reservationsVBox.getChildren().clear();
 
         for (Reservation reservation : reservations) {
-            Vehicle vehicle = vehicleService.getVehicleById(reservation.getVehicleId())
-                    .orElse(new Vehicle(0, "N/A", "Unknown", "Unknown", 0, 0.0, 0.0, "", ""));
+            Vehicle vehicle = reservation.getVehicle() != null ? reservation.getVehicle()
+                    : new Vehicle(0, "N/A", "Unknown", "Unknown", 0, 0.0, 0.0, "", "");
 
             VBox reservationCard = new VBox(10);
             reservationCard.setPadding(new Insets(12));
@@ -116,12 +123,7 @@ public class ReservationsController extends BaseMenuController {
             imageView.setFitHeight(100);
             imageView.setPreserveRatio(true);
 
-            File file = new File(vehicle.getImagePath());
-            if (file.exists()) {
-                imageView.setImage(new Image(file.toURI().toString()));
-            } else {
-                imageView.setImage(new Image("/vehicle_imgs/default_car.png"));
-            }
+            ImageCache.load(imageView, vehicle.getImagePath(), 160, 100);
 
             VBox infoBox = new VBox(5);
 
@@ -168,14 +170,10 @@ public class ReservationsController extends BaseMenuController {
      */
     @FXML
     private void handleCancelReservation(int reservationId) {
-        try {
+        runAsync(() -> {
             reservationService.cancelReservation(reservationId);
-
-            reservationsVBox.getChildren().clear();
-            createReservationCard(null);
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+            return null;
+        }, ignored -> createReservationCard(null));
     }
 
     /**
@@ -1,6 +1,9 @@
 package com.zoomly.controllers;
 
 import com.zoomly.dao.DatabaseConnection;
+import com.zoomly.dao.SchemaMigrator;
+import com.zoomly.util.BackgroundExecutor;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
@@ -16,6 +19,7 @@ import java.io.IOException;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -24,6 +28,8 @@ import java.util.regex.Pattern;
  * Controller for setting up and connecting to the database server.
  * Handles user input for database server address, username, password,
  * and uploads the database schema from a file.
+ * Once the schema is loaded, pending schema migrations are applied on a background thread
+ * before the login screen opens.
  */
 public class ServerSetupController {
 
@@ -48,7 +54,7 @@ public class ServerSetupController {
     @FXML
     private Button uploadButton;
 
-    private Connection connection;
+    private boolean connected;
 
     /**
      * Initializes the controller by disabling the file upload controls
@@ -62,7 +68,7 @@ public class ServerSetupController {
 
     /**
      * Handles the connection to the database server based on user input.
-     * Sets the connection details and attempts to establish a connection.
+     * Sets the connection details and checks that a connection can be established.
      *
      * @throws SQLException If a database connection error occurs.
      */
@@ -76,30 +82,30 @@ public class ServerSetupController {
         DatabaseConnection.setUser(username);
         DatabaseConnection.setPassword(password);
 
-        try {
-            connection = DatabaseConnection.getConnection();
+        try (Connection connection = DatabaseConnection.getConnection()) {
+            connected = true;
             connectionStatusLabel.setText("Connection Successful");
 
             filepathTextField.setDisable(false);
             uploadButton.setDisable(false);
         } catch (SQLException e) {
+            connected = false;
             connectionStatusLabel.setText("Connection Failed: " + e.getMessage());
         }
     }
 
     /**
      * Handles the upload of the SQL script to create and populate the database.
-     * Executes the script and handles any errors during execution.
+     * Executes the script, applies any pending schema migrations and handles any errors during execution.
      *
      * @throws IOException If an error occurs while reading the script file.
      * @throws SQLException If an error occurs while executing the SQL statements.
      */
     @FXML
     private void handleUpload() {
-        if (connection != null) {
+        if (connected) {
             File scriptFile = new File(filepathTextField.getText());
             try (FileInputStream fileInputStream = new FileInputStream(scriptFile)) {
-                Statement stmt = connection.createStatement();
                 String script = new String(fileInputStream.readAllBytes());
 
                 String[] sqlStatements = script.split(";");
@@ -111,26 +117,26 @@ public class ServerSetupController {
                     return;
                 }
 
-                for (String sqlStatement : sqlStatements) {
-                    sqlStatement = sqlStatement.trim();
-
-                    if (!sqlStatement.isEmpty()) {
-                        try {
-                            stmt.executeUpdate(sqlStatement);
-                        } catch (SQLException e) {
-                            connectionStatusLabel.setText("Failed to execute SQL: " + e.getMessage());
-                            return;
+                try (Connection connection = DatabaseConnection.getConnection();
+                     Statement stmt = connection.createStatement()) {
+                    for (String sqlStatement : sqlStatements) {
+                        sqlStatement = sqlStatement.trim();
+
+                        if (!sqlStatement.isEmpty()) {
+                            try {
+                                stmt.executeUpdate(sqlStatement);
+                            } catch (SQLException e) {
+                                connectionStatusLabel.setText("Failed to execute SQL: " + e.getMessage());
+                                return;
+                            }
                         }
                     }
                 }
 
                 String newUrl = DatabaseConnection.getUrl() + "/" + databaseName;
                 DatabaseConnection.setUrl(newUrl);
-                connection = DatabaseConnection.getConnection();
-
-                connectionStatusLabel.setText("Database Created and Data Loaded Successfully");
 
-                switchToLogin();
+                applyMigrations();
 
             } catch (IOException | SQLException e) {
                 connectionStatusLabel.setText("Upload Failed: " + e.getMessage());
@@ -138,6 +144,31 @@ public class ServerSetupController {
         }
     }
 
+    /**
+     * Applies pending schema migrations on a background thread, then opens the login screen.
+     * The upload button stays disabled while the migrations run.
+     */
+    private void applyMigrations() {
+        Task<List<String>> task = new Task<>() {
+            @Override
+            protected List<String> call() throws SQLException {
+                return new SchemaMigrator().migrate();
+            }
+        };
+        task.setOnSucceeded(e -> {
+            connectionStatusLabel.setText("Database Created and Data Loaded Successfully");
+            switchToLogin();
+        });
+        task.setOnFailed(e -> {
+            connectionStatusLabel.setText("Schema Migration Failed: " + task.getException().getMessage());
+            uploadButton.setDisable(false);
+        });
+
+        connectionStatusLabel.setText("Applying schema migrations...");
+        uploadButton.setDisable(true);
+        BackgroundExecutor.execute(task);
+    }
+
     /**
      * Extracts the database name from the SQL script.
      *
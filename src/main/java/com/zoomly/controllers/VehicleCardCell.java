@@ -0,0 +1,103 @@
+package com.zoomly.controllers;
+
+import com.zoomly.model.VehicleSummary;
+import com.zoomly.util.ImageCache;
+import javafx.geometry.Insets;
+import javafx.scene.control.ContentDisplay;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+
+/**
+ * VehicleCardCell.java
+ * A list cell that shows a vehicle summary as a card with its picture and details.
+ * The description is left out of the listing and shown once a vehicle is selected.
+ *
+ * The ListView only creates as many cells as fit on screen and reuses them while scrolling,
+ * so each cell builds its card once and updateItem just rebinds the labels and image.
+ */
+public class VehicleCardCell extends ListCell<VehicleSummary> {
+    /**
+     * The height of every card, including the gap below it. The browse list uses a fixed cell size
+     * so scrolling does not have to measure each card.
+     */
+    public static final double CELL_HEIGHT = 135;
+
+    private static final String CARD_STYLE = "-fx-background-color: #2a2a2a; -fx-background-radius: 8;";
+    private static final String HOVER_STYLE = "-fx-background-color: #3a3a3a; -fx-background-radius: 8;";
+    private static final String SELECTED_STYLE = "-fx-background-color: #3d3d3d; -fx-background-radius: 8;";
+
+    private final VBox card = new VBox(10);
+    private final ImageView imageView = new ImageView();
+    private final Label titleLabel = new Label();
+    private final Label yearLabel = new Label();
+    private final Label mileageLabel = new Label();
+    private final Label priceLabel = new Label();
+
+    /**
+     * Builds the card layout that is reused for every vehicle shown in this cell.
+     */
+    public VehicleCardCell() {
+        card.setPadding(new Insets(12));
+        card.setStyle(CARD_STYLE);
+
+        imageView.setFitWidth(160);
+        imageView.setFitHeight(100);
+        imageView.setPreserveRatio(true);
+
+        titleLabel.setFont(Font.font("System Bold", 14));
+        titleLabel.setTextFill(Color.web("#6fbf4e"));
+        yearLabel.setTextFill(Color.WHITE);
+        mileageLabel.setTextFill(Color.WHITE);
+        priceLabel.setTextFill(Color.WHITE);
+
+        VBox infoBox = new VBox(5);
+        infoBox.getChildren().addAll(titleLabel, yearLabel, mileageLabel, priceLabel);
+        HBox topRow = new HBox(15);
+        topRow.getChildren().addAll(imageView, infoBox);
+
+        card.getChildren().add(topRow);
+
+        setPadding(new Insets(0, 0, 10, 0));
+        setStyle("-fx-background-color: transparent;");
+        setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+        // Lets the cell shrink to the list's width instead of widening it to fit its content.
+        setPrefWidth(0);
+
+        hoverProperty().addListener((obs, wasHovered, isHovered) -> updateCardStyle());
+        selectedProperty().addListener((obs, wasSelected, isSelected) -> updateCardStyle());
+    }
+
+    @Override
+    protected void updateItem(VehicleSummary vehicle, boolean empty) {
+        super.updateItem(vehicle, empty);
+
+        if (empty || vehicle == null) {
+            setGraphic(null);
+            return;
+        }
+
+        titleLabel.setText(vehicle.getMake() + " " + vehicle.getModel());
+        yearLabel.setText("Year: " + vehicle.getYear());
+        mileageLabel.setText(String.format("Mileage: %.0f km", vehicle.getMileage()));
+        priceLabel.setText(String.format("Price/Day: $%.2f", vehicle.getPricePerDay()));
+        ImageCache.load(imageView, vehicle.getImagePath(), 160, 100);
+
+        updateCardStyle();
+        setGraphic(card);
+    }
+
+    private void updateCardStyle() {
+        if (isSelected()) {
+            card.setStyle(SELECTED_STYLE);
+        } else if (isHover()) {
+            card.setStyle(HOVER_STYLE);
+        } else {
+            card.setStyle(CARD_STYLE);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.zoomly.dao;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * BatchWriter.java
+ * Runs one prepared statement over a list of rows as a single JDBC batch inside one transaction.
+ *
+ * A row the database rejects (for example a duplicate key) is reported as Statement.EXECUTE_FAILED
+ * in the returned counts and the rest of the batch still commits. Drivers that stop at the first
+ * failure return fewer counts than rows; the rows after the failed one are then sent again as a new batch.
+ *
+ * DatabaseConnection has the MySQL driver rewrite a batch into multi-row INSERTs. One bad row
+ * then fails the whole multi-row statement it was folded into, and every row in it is reported
+ * as failed. So after a failed batch, each row reported as failed is run again on its own, and
+ * only rows the database still rejects are left as EXECUTE_FAILED.
+ *
+ * executeReturningKeys runs the same way but returns the key generated for each inserted row,
+ * read from the batch itself, so callers never need to query the rows back to learn their IDs.
+ * A rewritten batch returns the keys of all its rows as one multi-row result set, in row order.
+ */
+class BatchWriter {
+
+    /**
+     * Binds one row's values to the statement.
+     *
+     * @param <T> the row type
+     */
+    @FunctionalInterface
+    interface RowBinder<T> {
+        void bind(PreparedStatement statement, T row) throws SQLException;
+    }
+
+    private BatchWriter() {
+    }
+
+    /**
+     * Inserts or updates the given rows in one transaction.
+     *
+     * @param sql the statement to run once per row
+     * @param rows the rows to write
+     * @param binder binds a row's values to the statement
+     * @param <T> the row type
+     * @return one count per row; Statement.EXECUTE_FAILED for rows the database rejected
+     * @throws SQLException if the connection fails or the transaction cannot be committed;
+     *         nothing from this batch is written in that case
+     */
+    static <T> int[] execute(String sql, List<T> rows, RowBinder<T> binder) throws SQLException {
+        return run(sql, rows, binder, null);
+    }
+
+    /**
+     * Inserts the given rows in one transaction and returns the key the database generated for each.
+     *
+     * @param sql the INSERT to run once per row
+     * @param rows the rows to insert
+     * @param binder binds a row's values to the statement
+     * @param <T> the row type
+     * @return one generated key per row; Statement.EXECUTE_FAILED for rows the database rejected
+     * @throws SQLException if the connection fails, the driver does not return a key for every
+     *         inserted row, or the transaction cannot be committed; nothing from this batch is
+     *         written in that case
+     */
+    static <T> int[] executeReturningKeys(String sql, List<T> rows, RowBinder<T> binder) throws SQLException {
+        int[] keys = new int[rows.size()];
+        int[] counts = run(sql, rows, binder, keys);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == Statement.EXECUTE_FAILED) {
+                keys[i] = Statement.EXECUTE_FAILED;
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Runs the batch, filling keys with the generated keys of the inserted rows when it is not null.
+     */
+    private static <T> int[] run(String sql, List<T> rows, RowBinder<T> binder, int[] keys) throws SQLException {
+        int[] counts = new int[rows.size()];
+        if (rows.isEmpty()) {
+            return counts;
+        }
+
+        try (Connection connection = DatabaseConnection.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = keys == null
+                    ? connection.prepareStatement(sql)
+                    : connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                int start = 0;
+                while (start < rows.size()) {
+                    int end = executeFrom(statement, rows, binder, start, counts);
+                    if (keys != null) {
+                        readKeys(statement, start, end, counts, keys);
+                    }
+                    retryFailed(statement, rows, binder, start, end, counts, keys);
+                    start = end;
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+
+        return counts;
+    }
+
+    /**
+     * Assigns the keys generated by the last batch, in order, to the rows from start to end
+     * that the database accepted.
+     *
+     * @throws SQLException if the driver returned fewer keys than the database accepted rows
+     */
+    private static void readKeys(PreparedStatement statement, int start, int end, int[] counts, int[] keys)
+            throws SQLException {
+        try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+            for (int i = start; i < end; i++) {
+                if (counts[i] == Statement.EXECUTE_FAILED) {
+                    continue;
+                }
+                if (!generatedKeys.next()) {
+                    throw new SQLException("Expected a generated key for batch row " + i + " but the driver returned none");
+                }
+                keys[i] = generatedKeys.getInt(1);
+            }
+        }
+    }
+
+    /**
+     * Runs each row from start to end that the batch reported as failed on its own, recording its
+     * count and, when keys is not null, its generated key. Rows the database rejects again stay
+     * EXECUTE_FAILED; a lost connection is rethrown, since no later row could succeed either.
+     */
+    private static <T> void retryFailed(PreparedStatement statement, List<T> rows, RowBinder<T> binder,
+                                        int start, int end, int[] counts, int[] keys) throws SQLException {
+        for (int i = start; i < end; i++) {
+            if (counts[i] != Statement.EXECUTE_FAILED) {
+                continue;
+            }
+            binder.bind(statement, rows.get(i));
+            try {
+                counts[i] = statement.executeUpdate();
+            } catch (SQLTransientConnectionException | SQLNonTransientConnectionException e) {
+                throw e;
+            } catch (SQLException e) {
+                continue;
+            }
+            if (keys != null) {
+                readKeys(statement, i, i + 1, counts, keys);
+            }
+        }
+    }
+
+    /**
+     * Sends the rows from start onwards as one batch and records their counts.
+     *
+     * @return the index of the first row that still has to be sent, or rows.size() when done
+     */
+    private static <T> int executeFrom(PreparedStatement statement, List<T> rows, RowBinder<T> binder,
+                                       int start, int[] counts) throws SQLException {
+        for (int i = start; i < rows.size(); i++) {
+            binder.bind(statement, rows.get(i));
+            statement.addBatch();
+        }
+
+        int[] batchCounts;
+        try {
+            batchCounts = statement.executeBatch();
+        } catch (BatchUpdateException e) {
+            batchCounts = e.getUpdateCounts() == null ? new int[0] : e.getUpdateCounts();
+            statement.clearBatch();
+            int remaining = rows.size() - start;
+            if (batchCounts.length < remaining) {
+                // The driver stopped at the row after the last reported count.
+                System.arraycopy(batchCounts, 0, counts, start, batchCounts.length);
+                counts[start + batchCounts.length] = Statement.EXECUTE_FAILED;
+                return start + batchCounts.length + 1;
+            }
+        }
+
+        System.arraycopy(batchCounts, 0, counts, start, Math.min(batchCounts.length, rows.size() - start));
+        if (batchCounts.length < rows.size() - start) {
+            Arrays.fill(counts, start + batchCounts.length, rows.size(), Statement.EXECUTE_FAILED);
+        }
+        return rows.size();
+    }
+}
@@ -0,0 +1,367 @@
+package com.zoomly.dao;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ConnectionPool.java
+ * A bounded pool of JDBC connections used by DatabaseConnection.
+ *
+ * Connections are created on demand up to the maximum size, validated when they are borrowed
+ * after sitting idle, and handed out as wrappers whose close() returns them to the pool instead
+ * of closing the socket. A background evictor closes connections that have been idle longer than
+ * the idle timeout while keeping at least the minimum number of connections open.
+ *
+ * Each pooled connection keeps its own cache of prepared statements; hit and miss counts
+ * are summed across the pool.
+ */
+public class ConnectionPool {
+
+    /**
+     * Connections used more recently than this are handed out without a validation round trip.
+     */
+    private static final long VALIDATION_BYPASS_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private final String url;
+    private final Properties connectionProperties;
+    private final int minSize;
+    private final int maxSize;
+    private final long idleTimeoutMillis;
+    private final long borrowTimeoutMillis;
+    private final int validationTimeoutSeconds;
+    private final int statementCacheSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition connectionReturned = lock.newCondition();
+    private final Deque<PooledConnection> idleConnections = new ArrayDeque<>();
+    private int totalCount;
+    private int activeCount;
+    private int waiterCount;
+    private boolean closed;
+
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder borrowNanos = new LongAdder();
+    private final AtomicLong maxBorrowNanos = new AtomicLong();
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder createdCount = new LongAdder();
+    private final LongAdder evictedCount = new LongAdder();
+    private final LongAdder validationFailureCount = new LongAdder();
+    private final LongAdder statementCacheHits = new LongAdder();
+    private final LongAdder statementCacheMisses = new LongAdder();
+
+    private final ScheduledExecutorService evictor;
+
+    /**
+     * Creates a pool for the given database and starts its idle evictor.
+     *
+     * @param url the JDBC URL to connect to
+     * @param connectionProperties driver properties, including user and password
+     * @param minSize the number of connections kept open even when idle
+     * @param maxSize the maximum number of open connections
+     * @param idleTimeoutMillis how long a connection may sit idle before it is closed
+     * @param borrowTimeoutMillis how long getConnection waits for a free connection before failing
+     * @param validationTimeoutSeconds the timeout passed to Connection.isValid when validating on borrow
+     * @param statementCacheSize the number of prepared statements cached per connection; 0 disables caching
+     */
+    public ConnectionPool(String url, Properties connectionProperties, int minSize, int maxSize,
+                          long idleTimeoutMillis, long borrowTimeoutMillis, int validationTimeoutSeconds,
+                          int statementCacheSize) {
+        if (maxSize < 1 || minSize < 0 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + minSize + ", max=" + maxSize);
+        }
+        this.url = url;
+        this.connectionProperties = connectionProperties;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.statementCacheSize = statementCacheSize;
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "zoomly-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1000, idleTimeoutMillis / 2);
+        evictor.scheduleWithFixedDelay(this::maintain, 0, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrows a connection from the pool, creating one if the pool is below its maximum size
+     * or waiting up to the borrow timeout for another caller to return one.
+     *
+     * @return a pooled connection; closing it returns it to the pool
+     * @throws SQLTimeoutException if no connection became available within the borrow timeout
+     * @throws SQLException if the pool is closed or a new connection could not be opened
+     */
+    public Connection borrow() throws SQLException {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(borrowTimeoutMillis);
+
+        while (true) {
+            PooledConnection candidate = null;
+
+            lock.lock();
+            try {
+                while (true) {
+                    if (closed) {
+                        throw new SQLException("Connection pool is closed.");
+                    }
+                    candidate = idleConnections.pollFirst();
+                    if (candidate != null || totalCount < maxSize) {
+                        if (candidate == null) {
+                            totalCount++;
+                        }
+                        activeCount++;
+                        break;
+                    }
+
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        timeoutCount.increment();
+                        throw new SQLTimeoutException("Timed out after " + borrowTimeoutMillis
+                                + " ms waiting for a database connection (active=" + activeCount + ", max=" + maxSize + ").");
+                    }
+
+                    waiterCount++;
+                    try {
+                        connectionReturned.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Interrupted while waiting for a database connection.", e);
+                    } finally {
+                        waiterCount--;
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (candidate == null) {
+                try {
+                    candidate = openConnection();
+                } catch (SQLException e) {
+                    discard(null);
+                    throw e;
+                }
+            } else if (!isUsable(candidate)) {
+                validationFailureCount.increment();
+                discard(candidate);
+                continue;
+            }
+
+            long elapsed = System.nanoTime() - start;
+            borrowCount.increment();
+            borrowNanos.add(elapsed);
+            maxBorrowNanos.accumulateAndGet(elapsed, Math::max);
+            return candidate.lease();
+        }
+    }
+
+    /**
+     * Opens a new physical connection and wraps it for the pool.
+     *
+     * @return the new pooled connection
+     * @throws SQLException if the connection could not be opened
+     */
+    private PooledConnection openConnection() throws SQLException {
+        Connection physical = DriverManager.getConnection(url, connectionProperties);
+        createdCount.increment();
+        return new PooledConnection(this, physical, statementCacheSize, statementCacheHits, statementCacheMisses);
+    }
+
+    /**
+     * Returns a connection to the pool once its borrower has closed it.
+     * Broken connections, and any connection returned after the pool was closed, are closed instead.
+     *
+     * @param connection the connection being returned
+     * @param broken true if the connection should not be reused
+     */
+    void release(PooledConnection connection, boolean broken) {
+        if (!broken && !connection.resetForReuse()) {
+            broken = true;
+        }
+
+        lock.lock();
+        try {
+            activeCount--;
+            if (!closed && !broken) {
+                connection.markReturned();
+                idleConnections.offerFirst(connection);
+                connectionReturned.signal();
+                return;
+            }
+            totalCount--;
+            connectionReturned.signal();
+        } finally {
+            lock.unlock();
+        }
+        connection.closePhysical();
+    }
+
+    /**
+     * Removes a borrowed slot from the pool after a failed create or validation.
+     *
+     * @param connection the connection to close, or null if none was opened
+     */
+    private void discard(PooledConnection connection) {
+        lock.lock();
+        try {
+            activeCount--;
+            totalCount--;
+            connectionReturned.signal();
+        } finally {
+            lock.unlock();
+        }
+        if (connection != null) {
+            connection.closePhysical();
+        }
+    }
+
+    /**
+     * Checks whether an idle connection can be handed out, pinging the server only
+     * if the connection has not been used recently.
+     *
+     * @param connection the idle connection
+     * @return true if the connection is usable
+     */
+    private boolean isUsable(PooledConnection connection) {
+        if (System.nanoTime() - connection.getLastReturnedNanos() < VALIDATION_BYPASS_NANOS) {
+            return true;
+        }
+        return connection.validate(validationTimeoutSeconds);
+    }
+
+    /**
+     * Closes connections that have been idle longer than the idle timeout, then opens new
+     * connections until the pool holds its minimum size. Runs on the evictor thread.
+     */
+    private void maintain() {
+        List<PooledConnection> expired = new ArrayList<>();
+        long idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+        long now = System.nanoTime();
+
+        lock.lock();
+        try {
+            Iterator<PooledConnection> oldestFirst = idleConnections.descendingIterator();
+            while (oldestFirst.hasNext() && totalCount > minSize) {
+                PooledConnection connection = oldestFirst.next();
+                if (now - connection.getLastReturnedNanos() > idleTimeoutNanos) {
+                    oldestFirst.remove();
+                    totalCount--;
+                    expired.add(connection);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        for (PooledConnection connection : expired) {
+            connection.closePhysical();
+            evictedCount.increment();
+        }
+
+        while (true) {
+            lock.lock();
+            try {
+                if (closed || totalCount >= minSize) {
+                    return;
+                }
+                totalCount++;
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                PooledConnection connection = openConnection();
+                boolean pooled;
+                lock.lock();
+                try {
+                    // The pool may have been closed while the connection was opening.
+                    pooled = !closed;
+                    if (pooled) {
+                        idleConnections.offerLast(connection);
+                        connectionReturned.signal();
+                    } else {
+                        totalCount--;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                if (!pooled) {
+                    connection.closePhysical();
+                    return;
+                }
+            } catch (SQLException e) {
+                lock.lock();
+                try {
+                    totalCount--;
+                } finally {
+                    lock.unlock();
+                }
+                System.err.println("Connection pool could not open a connection: " + e.getMessage());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns a snapshot of the pool's current state and borrow statistics.
+     *
+     * @return the pool statistics
+     */
+    public ConnectionPoolStats getStats() {
+        lock.lock();
+        try {
+            return new ConnectionPoolStats(activeCount, idleConnections.size(), waiterCount, totalCount, maxSize,
+                    borrowCount.sum(), borrowNanos.sum(), maxBorrowNanos.get(), timeoutCount.sum(),
+                    createdCount.sum(), evictedCount.sum(), validationFailureCount.sum(),
+                    statementCacheHits.sum(), statementCacheMisses.sum());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes the pool. Idle connections are closed immediately and borrowed connections
+     * are closed when they are returned. Callers waiting for a connection are woken and fail.
+     */
+    public void close() {
+        List<PooledConnection> toClose;
+
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            toClose = new ArrayList<>(idleConnections);
+            totalCount -= idleConnections.size();
+            idleConnections.clear();
+            connectionReturned.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        evictor.shutdownNow();
+        for (PooledConnection connection : toClose) {
+            connection.closePhysical();
+        }
+    }
+}
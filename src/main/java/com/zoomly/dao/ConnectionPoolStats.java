@@ -0,0 +1,109 @@
+package com.zoomly.dao;
+
+/**
+ * ConnectionPoolStats.java
+ * An immutable snapshot of a ConnectionPool's state and borrow statistics.
+ */
+public class ConnectionPoolStats {
+    private final int active;
+    private final int idle;
+    private final int waiters;
+    private final int total;
+    private final int maxSize;
+    private final long borrowCount;
+    private final long totalBorrowNanos;
+    private final long maxBorrowNanos;
+    private final long timeouts;
+    private final long created;
+    private final long evicted;
+    private final long validationFailures;
+    private final long statementCacheHits;
+    private final long statementCacheMisses;
+
+    /**
+     * Constructs a new snapshot.
+     *
+     * @param active connections currently borrowed
+     * @param idle connections waiting in the pool
+     * @param waiters callers currently blocked waiting for a connection
+     * @param total open connections, borrowed or idle
+     * @param maxSize the pool's maximum size
+     * @param borrowCount number of successful borrows
+     * @param totalBorrowNanos total time spent in successful borrows
+     * @param maxBorrowNanos longest successful borrow
+     * @param timeouts number of borrows that timed out
+     * @param created number of physical connections opened
+     * @param evicted number of connections closed for being idle
+     * @param validationFailures number of idle connections that failed validation on borrow
+     * @param statementCacheHits number of prepared statements served from a connection's cache
+     * @param statementCacheMisses number of prepared statements that had to be prepared
+     */
+    public ConnectionPoolStats(int active, int idle, int waiters, int total, int maxSize,
+                               long borrowCount, long totalBorrowNanos, long maxBorrowNanos, long timeouts,
+                               long created, long evicted, long validationFailures,
+                               long statementCacheHits, long statementCacheMisses) {
+        this.active = active;
+        this.idle = idle;
+        this.waiters = waiters;
+        this.total = total;
+        this.maxSize = maxSize;
+        this.borrowCount = borrowCount;
+        this.totalBorrowNanos = totalBorrowNanos;
+        this.maxBorrowNanos = maxBorrowNanos;
+        this.timeouts = timeouts;
+        this.created = created;
+        this.evicted = evicted;
+        this.validationFailures = validationFailures;
+        this.statementCacheHits = statementCacheHits;
+        this.statementCacheMisses = statementCacheMisses;
+    }
+
+    public int getActive() { return active; }
+
+    public int getIdle() { return idle; }
+
+    public int getWaiters() { return waiters; }
+
+    public int getTotal() { return total; }
+
+    public int getMaxSize() { return maxSize; }
+
+    public long getBorrowCount() { return borrowCount; }
+
+    public long getTimeouts() { return timeouts; }
+
+    public long getCreated() { return created; }
+
+    public long getEvicted() { return evicted; }
+
+    public long getValidationFailures() { return validationFailures; }
+
+    public long getStatementCacheHits() { return statementCacheHits; }
+
+    public long getStatementCacheMisses() { return statementCacheMisses; }
+
+    /**
+     * Returns the average time a successful borrow took, including any wait for a free connection.
+     *
+     * @return the average borrow latency in milliseconds
+     */
+    public double getAverageBorrowMillis() {
+        return borrowCount == 0 ? 0.0 : totalBorrowNanos / (double) borrowCount / 1_000_000.0;
+    }
+
+    /**
+     * Returns the longest time a successful borrow took.
+     *
+     * @return the maximum borrow latency in milliseconds
+     */
+    public double getMaxBorrowMillis() {
+        return maxBorrowNanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ConnectionPoolStats{active=%d, idle=%d, waiters=%d, total=%d/%d, borrows=%d, avgBorrow=%.3fms, maxBorrow=%.3fms, timeouts=%d, created=%d, evicted=%d, validationFailures=%d, statementCacheHits=%d, statementCacheMisses=%d}",
+                active, idle, waiters, total, maxSize, borrowCount, getAverageBorrowMillis(), getMaxBorrowMillis(),
+                timeouts, created, evicted, validationFailures, statementCacheHits, statementCacheMisses);
+    }
+}
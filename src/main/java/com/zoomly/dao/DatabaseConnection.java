@@ -1,8 +1,8 @@
 package com.zoomly.dao;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.Properties;
 
 /**
  * A utility class for managing the database connection in the Zoomly application.
@@ -10,6 +10,25 @@ import java.sql.SQLException;
  * Provides static methods for setting and retrieving database connection parameters,
  * and for obtaining a Connection object using JDBC.
  *
+ * Connections are served from a bounded ConnectionPool that is created on first use.
+ * Closing a connection returns it to the pool, so callers keep using try-with-resources
+ * exactly as they would with a plain JDBC connection. Changing the URL, user or password
+ * closes the current pool and the next call to getConnection() builds a new one.
+ *
+ * Each pooled connection caches the statements it prepares, and MySQL connections are opened
+ * with server-side prepared statements so a cached statement is parsed and planned only once.
+ * They are also opened with cursor fetch, so a statement given a fetch size reads its rows from
+ * the server in chunks of that size instead of all at once; statements without one are unaffected.
+ * Batched inserts are rewritten by the driver into multi-row INSERTs, so a batch costs a few
+ * round trips instead of one per row; see BatchWriter for how failed rows are handled.
+ *
+ * While a UnitOfWork is open on the calling thread, getConnection() returns that unit's
+ * connection instead of borrowing another, so DAO calls made inside it share one transaction.
+ *
+ * Borrowed connections are instrumented: the time spent waiting for a connection and the
+ * latency, error count and row count of every statement are recorded in JdbcMetrics, which
+ * also logs slow statements and publishes the numbers over JMX.
+ *
  * This class is typically configured during application startup and used wherever
  * a database connection is needed.
  */
@@ -18,13 +37,24 @@ public class DatabaseConnection {
     private static String USER = "";
     private static String PASSWORD = "";
 
+    private static int minPoolSize = 2;
+    private static int maxPoolSize = 10;
+    private static long idleTimeoutMillis = 5 * 60 * 1000;
+    private static long borrowTimeoutMillis = 30 * 1000;
+    private static int validationTimeoutSeconds = 2;
+    private static int statementCacheSize = 64;
+    private static volatile boolean instrumentationEnabled = true;
+
+    private static ConnectionPool pool;
+
     /**
      * Sets the database connection URL.
      *
      * @param url the JDBC URL to connect to the database
      */
-    public static void setUrl(String url) {
+    public static synchronized void setUrl(String url) {
         URL = url;
+        closePool();
     }
 
     /**
@@ -41,8 +71,9 @@ public class DatabaseConnection {
      *
      * @param user the username used to connect to the database
      */
-    public static void setUser(String user) {
+    public static synchronized void setUser(String user) {
         USER = user;
+        closePool();
     }
 
     /**
@@ -50,17 +81,147 @@ public class DatabaseConnection {
      *
      * @param password the password used to connect to the database
      */
-    public static void setPassword(String password) {
+    public static synchronized void setPassword(String password) {
         PASSWORD = password;
+        closePool();
+    }
+
+    /**
+     * Sets the minimum and maximum number of pooled connections.
+     * Takes effect the next time the pool is created.
+     *
+     * @param minSize connections kept open even when idle
+     * @param maxSize maximum number of open connections
+     */
+    public static synchronized void setPoolSize(int minSize, int maxSize) {
+        if (maxSize < 1 || minSize < 0 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + minSize + ", max=" + maxSize);
+        }
+        minPoolSize = minSize;
+        maxPoolSize = maxSize;
+        closePool();
+    }
+
+    /**
+     * Sets how long a pooled connection may sit idle before it is closed.
+     * Takes effect the next time the pool is created.
+     *
+     * @param millis the idle timeout in milliseconds
+     */
+    public static synchronized void setIdleTimeoutMillis(long millis) {
+        idleTimeoutMillis = millis;
+        closePool();
+    }
+
+    /**
+     * Sets how long getConnection() waits for a free connection when the pool is exhausted.
+     * Takes effect the next time the pool is created.
+     *
+     * @param millis the borrow timeout in milliseconds
+     */
+    public static synchronized void setBorrowTimeoutMillis(long millis) {
+        borrowTimeoutMillis = millis;
+        closePool();
     }
 
     /**
-     * Establishes and returns a connection to the database using the configured URL, username, and password.
+     * Sets the timeout used when validating an idle connection on borrow.
+     * Takes effect the next time the pool is created.
+     *
+     * @param seconds the validation timeout in seconds
+     */
+    public static synchronized void setValidationTimeoutSeconds(int seconds) {
+        validationTimeoutSeconds = seconds;
+        closePool();
+    }
+
+    /**
+     * Sets how many prepared statements each pooled connection keeps cached.
+     * Takes effect the next time the pool is created.
+     *
+     * @param size the per-connection cache size; 0 disables statement caching
+     */
+    public static synchronized void setStatementCacheSize(int size) {
+        statementCacheSize = Math.max(0, size);
+        closePool();
+    }
+
+    /**
+     * Turns the recording of statement timings in JdbcMetrics on or off.
+     * Applies to connections borrowed after the call.
+     *
+     * @param enabled true to record statement timings
+     */
+    public static void setInstrumentationEnabled(boolean enabled) {
+        instrumentationEnabled = enabled;
+    }
+
+    /**
+     * Returns a pooled connection to the database using the configured URL, username, and password.
+     * Closing the returned connection gives it back to the pool. Inside a UnitOfWork, the unit's
+     * connection is returned instead and closing it has no effect.
      *
      * @return a Connection object to the database
-     * @throws SQLException if a database access error occurs
+     * @throws SQLException if a database access error occurs or no connection became available in time
      */
     public static Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(URL, USER, PASSWORD);
+        Connection joined = UnitOfWork.joinedConnection();
+        if (joined != null) {
+            return joined;
+        }
+        if (!instrumentationEnabled) {
+            return getPool().borrow();
+        }
+
+        JdbcMetrics metrics = JdbcMetrics.getInstance();
+        long start = System.nanoTime();
+        Connection connection = getPool().borrow();
+        metrics.recordConnectionWait(System.nanoTime() - start);
+        return InstrumentedConnection.wrap(connection, metrics);
+    }
+
+    /**
+     * Returns the current pool's statistics: active, idle and waiting counts and borrow latency.
+     *
+     * @return the pool statistics, or null if no connection has been requested yet
+     */
+    public static synchronized ConnectionPoolStats getPoolStats() {
+        return pool == null ? null : pool.getStats();
+    }
+
+    /**
+     * Closes the connection pool. A new pool is created on the next call to getConnection().
+     */
+    public static synchronized void shutdown() {
+        closePool();
+    }
+
+    /**
+     * Returns the connection pool, creating it from the current settings if needed.
+     *
+     * @return the connection pool
+     */
+    private static synchronized ConnectionPool getPool() {
+        if (pool == null) {
+            Properties properties = new Properties();
+            properties.setProperty("user", USER);
+            properties.setProperty("password", PASSWORD);
+            properties.setProperty("useServerPrepStmts", "true");
+            properties.setProperty("useCursorFetch", "true");
+            properties.setProperty("rewriteBatchedStatements", "true");
+            pool = new ConnectionPool(URL, properties, minPoolSize, maxPoolSize,
+                    idleTimeoutMillis, borrowTimeoutMillis, validationTimeoutSeconds, statementCacheSize);
+        }
+        return pool;
+    }
+
+    /**
+     * Closes the current pool, if any.
+     */
+    private static void closePool() {
+        if (pool != null) {
+            pool.close();
+            pool = null;
+        }
     }
 }
@@ -0,0 +1,153 @@
+package com.zoomly.dao;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * InstrumentedConnection.java
+ * Wraps a connection so that every statement it creates reports to JdbcMetrics.
+ *
+ * Each execute call on a statement is timed and counted against the statement's SQL template,
+ * update counts are added to the template's updated rows, and result sets count the rows the
+ * caller reads from them. Every other call passes straight through to the wrapped objects.
+ */
+final class InstrumentedConnection {
+    private InstrumentedConnection() {
+    }
+
+    /**
+     * Wraps a connection.
+     *
+     * @param connection the connection to instrument
+     * @param metrics where the statements' timings are recorded
+     * @return a Connection that behaves like the given one and records its statements
+     */
+    static Connection wrap(Connection connection, JdbcMetrics metrics) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            break;
+                    }
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof Statement) {
+                        String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+                        return wrapStatement((Statement) result, (Connection) proxy, sql, metrics);
+                    }
+                    return result;
+                });
+    }
+
+    /**
+     * Wraps a statement. Prepared statements record against the SQL they were prepared with;
+     * plain statements record against the SQL passed to each execute call.
+     */
+    private static Statement wrapStatement(Statement statement, Connection owner, String preparedSql, JdbcMetrics metrics) {
+        Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                : statement instanceof PreparedStatement ? PreparedStatement.class
+                : Statement.class;
+        JdbcMetrics.TemplateMetrics prepared = preparedSql == null ? null : metrics.metricsFor(preparedSql);
+
+        return (Statement) Proxy.newProxyInstance(
+                Statement.class.getClassLoader(),
+                new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    switch (name) {
+                        case "getConnection":
+                            return owner;
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            break;
+                    }
+
+                    if (!name.startsWith("execute")) {
+                        Object result = invoke(statement, method, args);
+                        if (result instanceof ResultSet && prepared != null && name.equals("getResultSet")) {
+                            return wrapResultSet((ResultSet) result, (Statement) proxy, prepared);
+                        }
+                        return result;
+                    }
+
+                    JdbcMetrics.TemplateMetrics target = args != null && args.length > 0 && args[0] instanceof String
+                            ? metrics.metricsFor((String) args[0])
+                            : prepared != null ? prepared : metrics.metricsFor(null);
+                    long start = System.nanoTime();
+                    Object result;
+                    try {
+                        result = invoke(statement, method, args);
+                    } catch (Throwable failure) {
+                        metrics.recordExecution(target, System.nanoTime() - start, true);
+                        throw failure;
+                    }
+                    metrics.recordExecution(target, System.nanoTime() - start, false);
+
+                    if (result instanceof ResultSet) {
+                        return wrapResultSet((ResultSet) result, (Statement) proxy, target);
+                    }
+                    if (result instanceof Number) {
+                        target.rowsUpdated(((Number) result).longValue());
+                    } else if (result instanceof int[]) {
+                        for (int count : (int[]) result) {
+                            target.rowsUpdated(count);
+                        }
+                    } else if (result instanceof long[]) {
+                        for (long count : (long[]) result) {
+                            target.rowsUpdated(count);
+                        }
+                    }
+                    return result;
+                });
+    }
+
+    /**
+     * Wraps a result set so that each row the caller moves to is counted.
+     */
+    private static ResultSet wrapResultSet(ResultSet resultSet, Statement owner, JdbcMetrics.TemplateMetrics target) {
+        return (ResultSet) Proxy.newProxyInstance(
+                ResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "next": {
+                            boolean hasRow = resultSet.next();
+                            if (hasRow) {
+                                target.rowReturned();
+                            }
+                            return hasRow;
+                        }
+                        case "getStatement":
+                            return owner;
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            return invoke(resultSet, method, args);
+                    }
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
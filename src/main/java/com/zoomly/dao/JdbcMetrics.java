@@ -0,0 +1,276 @@
+package com.zoomly.dao;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * JdbcMetrics.java
+ * Collects the timings of every statement run through DatabaseConnection.
+ *
+ * Statements are grouped by SQL template: the SQL text with its whitespace collapsed and its
+ * placeholder lists shortened, so an IN list of 3 or 300 placeholders counts as one statement.
+ * For each template the metrics keep the number of executions and errors, a latency histogram
+ * (p50, p99 and max), and the rows returned or updated. The time callers wait for a pooled
+ * connection is kept in a histogram of its own.
+ *
+ * Executions slower than the slow statement threshold are logged as warnings to the
+ * com.zoomly.dao.JdbcMetrics logger. The threshold defaults to 250 ms and can be set with the
+ * zoomly.jdbc.slowStatementMillis system property, with setSlowStatementThresholdMillis, or over JMX.
+ *
+ * The metrics are registered with the platform MBean server as com.zoomly:type=JdbcMetrics,
+ * so they can be read with JConsole or VisualVM while the application runs.
+ */
+public class JdbcMetrics implements JdbcMetricsMXBean {
+    public static final String OBJECT_NAME = "com.zoomly:type=JdbcMetrics";
+
+    private static final Logger LOGGER = Logger.getLogger(JdbcMetrics.class.getName());
+    private static final long DEFAULT_SLOW_STATEMENT_MILLIS = 250;
+
+    /**
+     * Templates beyond this many are counted together, so statements built with literal values
+     * (such as an uploaded setup script) cannot grow the metrics without bound.
+     */
+    private static final int MAX_TEMPLATES = 500;
+    private static final String OTHER_TEMPLATE = "(other statements)";
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern ROW_LIST = Pattern.compile("\\(\\?\\.\\.\\.\\)(?:\\s*,\\s*\\(\\?\\.\\.\\.\\))+");
+
+    private static JdbcMetrics instance;
+
+    private final Map<String, TemplateMetrics> bySql = new ConcurrentHashMap<>();
+    private final Map<String, TemplateMetrics> byTemplate = new ConcurrentHashMap<>();
+    private final LatencyHistogram connectionWaits = new LatencyHistogram();
+    private volatile long slowStatementNanos;
+
+    private JdbcMetrics() {
+        slowStatementNanos = TimeUnit.MILLISECONDS.toNanos(
+                Long.getLong("zoomly.jdbc.slowStatementMillis", DEFAULT_SLOW_STATEMENT_MILLIS));
+    }
+
+    /**
+     * Returns the singleton instance of JdbcMetrics, registering it with JMX on first use.
+     *
+     * @return the singleton instance of JdbcMetrics
+     */
+    public static synchronized JdbcMetrics getInstance() {
+        if (instance == null) {
+            instance = new JdbcMetrics();
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(instance, new ObjectName(OBJECT_NAME));
+            } catch (Exception e) {
+                System.err.println("Could not register JDBC metrics with JMX: " + e.getMessage());
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the metrics a statement records into.
+     *
+     * @param sql the statement's SQL text
+     * @return the metrics of the statement's template
+     */
+    TemplateMetrics metricsFor(String sql) {
+        if (sql == null) {
+            return templateMetrics(OTHER_TEMPLATE);
+        }
+        TemplateMetrics metrics = bySql.get(sql);
+        if (metrics == null) {
+            metrics = templateMetrics(toTemplate(sql));
+            if (bySql.size() < MAX_TEMPLATES * 4) {
+                bySql.put(sql, metrics);
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * Records one execution of a statement and logs it if it was slow.
+     *
+     * @param metrics the statement's metrics
+     * @param nanos how long the execute call took
+     * @param failed true if the call threw an exception
+     */
+    void recordExecution(TemplateMetrics metrics, long nanos, boolean failed) {
+        metrics.latency.record(nanos);
+        if (failed) {
+            metrics.errors.increment();
+        }
+        if (nanos >= slowStatementNanos) {
+            metrics.slow.increment();
+            if (LOGGER.isLoggable(Level.WARNING)) {
+                LOGGER.warning(String.format("Slow statement (%.1f ms%s): %s",
+                        nanos / 1_000_000.0, failed ? ", failed" : "", metrics.template));
+            }
+        }
+    }
+
+    /**
+     * Records how long a caller waited for a pooled connection.
+     *
+     * @param nanos the wait, including validating or opening the connection
+     */
+    void recordConnectionWait(long nanos) {
+        connectionWaits.record(nanos);
+    }
+
+    /**
+     * Returns a snapshot of every recorded statement.
+     *
+     * @return the statements by total execution time, longest first
+     */
+    @Override
+    public List<StatementStats> getStatements() {
+        List<StatementStats> statements = new ArrayList<>(byTemplate.size());
+        for (TemplateMetrics metrics : byTemplate.values()) {
+            if (metrics.latency.getCount() > 0) {
+                statements.add(metrics.snapshot());
+            }
+        }
+        statements.sort(Comparator.comparingDouble(StatementStats::getTotalMillis).reversed());
+        return statements;
+    }
+
+    @Override
+    public long getStatementExecutions() {
+        long executions = 0;
+        for (TemplateMetrics metrics : byTemplate.values()) {
+            executions += metrics.latency.getCount();
+        }
+        return executions;
+    }
+
+    @Override
+    public long getSlowStatementCount() {
+        long slow = 0;
+        for (TemplateMetrics metrics : byTemplate.values()) {
+            slow += metrics.slow.sum();
+        }
+        return slow;
+    }
+
+    @Override
+    public long getSlowStatementThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(slowStatementNanos);
+    }
+
+    /**
+     * Sets how long a statement may run before it is logged as slow.
+     *
+     * @param millis the threshold in milliseconds; 0 logs every statement
+     */
+    @Override
+    public void setSlowStatementThresholdMillis(long millis) {
+        if (millis < 0) {
+            throw new IllegalArgumentException("Slow statement threshold cannot be negative: " + millis);
+        }
+        slowStatementNanos = TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    @Override
+    public long getConnectionWaitCount() {
+        return connectionWaits.getCount();
+    }
+
+    @Override
+    public double getConnectionWaitP50Millis() {
+        return connectionWaits.getQuantileNanos(0.5) / 1_000_000.0;
+    }
+
+    @Override
+    public double getConnectionWaitP99Millis() {
+        return connectionWaits.getQuantileNanos(0.99) / 1_000_000.0;
+    }
+
+    @Override
+    public double getConnectionWaitMaxMillis() {
+        return connectionWaits.getMaxNanos() / 1_000_000.0;
+    }
+
+    /**
+     * Clears the recorded values. Statements already prepared keep recording into the same templates.
+     */
+    @Override
+    public void reset() {
+        for (TemplateMetrics metrics : byTemplate.values()) {
+            metrics.reset();
+        }
+        connectionWaits.reset();
+    }
+
+    private TemplateMetrics templateMetrics(String template) {
+        TemplateMetrics metrics = byTemplate.get(template);
+        if (metrics != null) {
+            return metrics;
+        }
+        if (byTemplate.size() >= MAX_TEMPLATES) {
+            template = OTHER_TEMPLATE;
+        }
+        return byTemplate.computeIfAbsent(template, TemplateMetrics::new);
+    }
+
+    /**
+     * Reduces SQL text to its template: whitespace runs become one space, a parenthesised list
+     * of placeholders becomes (?...), and a list of such rows becomes (?...), (?...).
+     *
+     * @param sql the SQL text
+     * @return the template
+     */
+    static String toTemplate(String sql) {
+        String template = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        template = PLACEHOLDER_LIST.matcher(template).replaceAll("(?...)");
+        return ROW_LIST.matcher(template).replaceAll("(?...), (?...)");
+    }
+
+    /**
+     * The counters and latency histogram of one SQL template.
+     */
+    static class TemplateMetrics {
+        private final String template;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder slow = new LongAdder();
+        private final LongAdder rowsReturned = new LongAdder();
+        private final LongAdder rowsUpdated = new LongAdder();
+
+        TemplateMetrics(String template) {
+            this.template = template;
+        }
+
+        void rowReturned() {
+            rowsReturned.increment();
+        }
+
+        void rowsUpdated(long count) {
+            if (count > 0) {
+                rowsUpdated.add(count);
+            }
+        }
+
+        StatementStats snapshot() {
+            return new StatementStats(template, latency.getCount(), errors.sum(), slow.sum(),
+                    rowsReturned.sum(), rowsUpdated.sum(), latency.getTotalNanos(),
+                    latency.getQuantileNanos(0.5), latency.getQuantileNanos(0.99), latency.getMaxNanos());
+        }
+
+        void reset() {
+            latency.reset();
+            errors.reset();
+            slow.reset();
+            rowsReturned.reset();
+            rowsUpdated.reset();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.zoomly.dao;
+
+import java.util.List;
+
+/**
+ * JdbcMetricsMXBean.java
+ * The JMX view of JdbcMetrics, registered as com.zoomly:type=JdbcMetrics.
+ */
+public interface JdbcMetricsMXBean {
+    /**
+     * @return the recorded statements, by total execution time, longest first
+     */
+    List<StatementStats> getStatements();
+
+    long getStatementExecutions();
+
+    long getSlowStatementCount();
+
+    long getSlowStatementThresholdMillis();
+
+    void setSlowStatementThresholdMillis(long millis);
+
+    long getConnectionWaitCount();
+
+    double getConnectionWaitP50Millis();
+
+    double getConnectionWaitP99Millis();
+
+    double getConnectionWaitMaxMillis();
+
+    /**
+     * Clears every recorded statement and connection wait.
+     */
+    void reset();
+}
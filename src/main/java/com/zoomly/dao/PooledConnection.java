@@ -0,0 +1,186 @@
+package com.zoomly.dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * PooledConnection.java
+ * A physical JDBC connection owned by a ConnectionPool.
+ *
+ * Each time the connection is borrowed it is handed out through a new proxy. Closing the proxy
+ * returns the connection to the pool, and any further use of that proxy fails, so a caller that
+ * keeps a reference after closing it cannot interfere with the next borrower.
+ *
+ * Statements prepared through prepareStatement(String) or prepareStatement(String, int) are kept in a per-connection
+ * StatementCache, so DAO methods that run the same SQL reuse the prepared statement.
+ */
+class PooledConnection {
+    private final ConnectionPool pool;
+    private final Connection physical;
+    private final StatementCache statementCache;
+    private volatile long lastReturnedNanos;
+
+    /**
+     * Wraps a newly opened physical connection.
+     *
+     * @param pool the pool that owns the connection
+     * @param physical the underlying JDBC connection
+     * @param statementCacheSize the number of prepared statements to cache; 0 disables caching
+     * @param cacheHits pool-wide counter of statement cache hits
+     * @param cacheMisses pool-wide counter of statement cache misses
+     */
+    PooledConnection(ConnectionPool pool, Connection physical, int statementCacheSize,
+                     LongAdder cacheHits, LongAdder cacheMisses) {
+        this.pool = pool;
+        this.physical = physical;
+        this.statementCache = new StatementCache(physical, statementCacheSize, cacheHits, cacheMisses);
+        this.lastReturnedNanos = System.nanoTime();
+    }
+
+    /**
+     * Creates the handle given to a borrower.
+     *
+     * @return a Connection whose close() returns this connection to the pool
+     */
+    Connection lease() {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new LeaseHandler());
+    }
+
+    /**
+     * Returns the time this connection was last returned to the pool.
+     *
+     * @return a System.nanoTime() timestamp
+     */
+    long getLastReturnedNanos() {
+        return lastReturnedNanos;
+    }
+
+    /**
+     * Records that the connection has just been returned to the pool.
+     */
+    void markReturned() {
+        lastReturnedNanos = System.nanoTime();
+    }
+
+    /**
+     * Checks that the server still answers on this connection.
+     *
+     * @param timeoutSeconds how long to wait for the server
+     * @return true if the connection is still valid
+     */
+    boolean validate(int timeoutSeconds) {
+        try {
+            return physical.isValid(timeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Restores the default connection state before the connection is reused,
+     * rolling back any transaction the previous borrower left open.
+     *
+     * @return true if the connection can be reused
+     */
+    boolean resetForReuse() {
+        try {
+            if (physical.isClosed()) {
+                return false;
+            }
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+            physical.clearWarnings();
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Closes the underlying JDBC connection.
+     */
+    void closePhysical() {
+        statementCache.clear();
+        try {
+            physical.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing pooled connection: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Routes calls on a borrowed handle to the physical connection until the handle is closed.
+     */
+    private class LeaseHandler implements InvocationHandler {
+        private boolean closed;
+        private boolean broken;
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        statementCache.closeOpenHandles();
+                        pool.release(PooledConnection.this, broken);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + physical + (closed ? ", returned" : "") + "]";
+                default:
+                    break;
+            }
+
+            if (closed) {
+                throw new SQLException("Connection has already been returned to the pool.");
+            }
+
+            try {
+                if (method.getName().equals("prepareStatement") && args.length == 1) {
+                    return statementCache.prepare((String) args[0], (Connection) proxy);
+                }
+                if (method.getName().equals("prepareStatement") && args.length == 2 && args[1] instanceof Integer) {
+                    return statementCache.prepare((String) args[0], (Integer) args[1], (Connection) proxy);
+                }
+                return method.invoke(physical, args);
+            } catch (InvocationTargetException e) {
+                throw checkBroken(e.getCause());
+            } catch (SQLException e) {
+                throw checkBroken(e);
+            }
+        }
+
+        /**
+         * Marks the connection broken if the failure was a connection-level error
+         * (SQLState class 08), so the socket is closed instead of reused.
+         *
+         * @param failure the exception raised by the driver
+         * @return the same exception, for rethrowing
+         */
+        private Throwable checkBroken(Throwable failure) {
+            if (failure instanceof SQLException) {
+                String sqlState = ((SQLException) failure).getSQLState();
+                if (sqlState != null && sqlState.startsWith("08")) {
+                    broken = true;
+                }
+            }
+            return failure;
+        }
+    }
+}
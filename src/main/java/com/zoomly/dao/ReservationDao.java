@@ -1,11 +1,13 @@
 package com.zoomly.dao;
 
 import com.zoomly.model.Reservation;
+import com.zoomly.model.Vehicle;
 
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Data Access Object (DAO) for interacting with the reservations table in the database.
@@ -25,25 +27,46 @@ public class ReservationDao {
      * @param pickupDate the start date of the reservation
      * @param dropOffDate the end date of the reservation
      * @param totalCharge the total cost of the reservation
+     * @return the ID generated for the new reservation
      * @throws SQLException if a database access error occurs
      */
-    public void addReservation(int userId, int vehicleId, Date pickupDate, Date dropOffDate, double totalCharge) throws SQLException {
+    public int addReservation(int userId, int vehicleId, Date pickupDate, Date dropOffDate, double totalCharge) throws SQLException {
         String sql = "INSERT INTO reservations (user_id, vehicle_id, pickup_date, dropoff_date, total_charge) VALUES (?, ?, ?, ?, ?)";
 
         try (Connection connection = DatabaseConnection.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+             PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             statement.setInt(1, userId);
             statement.setInt(2, vehicleId);
             statement.setDate(3, pickupDate);
             statement.setDate(4, dropOffDate);
             statement.setDouble(5, totalCharge);
             statement.executeUpdate();
+            return generatedId(statement);
         } catch (SQLException e) {
             e.printStackTrace();
             throw e;
         }
     }
 
+    /**
+     * Adds several reservations in one batched transaction. No availability check is made,
+     * so the caller must already know the reservations do not overlap.
+     *
+     * @param reservations the reservations to add; their IDs are ignored
+     * @return the generated ID of each reservation; Statement.EXECUTE_FAILED for reservations the database rejected
+     * @throws SQLException if the batch could not be written at all
+     */
+    public int[] addReservations(List<Reservation> reservations) throws SQLException {
+        String sql = "INSERT INTO reservations (user_id, vehicle_id, pickup_date, dropoff_date, total_charge) VALUES (?, ?, ?, ?, ?)";
+        return BatchWriter.executeReturningKeys(sql, reservations, (statement, reservation) -> {
+            statement.setInt(1, reservation.getUserId());
+            statement.setInt(2, reservation.getVehicleId());
+            statement.setDate(3, reservation.getPickupDate());
+            statement.setDate(4, reservation.getDropOffDate());
+            statement.setDouble(5, reservation.getTotalCharge());
+        });
+    }
+
     /**
      * Retrieves a reservation by its ID.
      *
@@ -105,6 +128,75 @@ public class ReservationDao {
         return reservations;
     }
 
+    /**
+     * Streams all reservations in ID order without loading them into memory at once.
+     * The stream holds a database connection until it is closed.
+     *
+     * @return a stream of all reservations; close it when done
+     * @throws SQLException if the query cannot be run
+     */
+    public Stream<Reservation> streamAllReservations() throws SQLException {
+        return streamAllReservations(ResultSetStream.DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * Streams all reservations in ID order, fetching the given number of rows per round trip.
+     * The stream holds a database connection until it is closed.
+     *
+     * @param fetchSize the number of rows read from the database at a time
+     * @return a stream of all reservations; close it when done
+     * @throws SQLException if the query cannot be run
+     */
+    public Stream<Reservation> streamAllReservations(int fetchSize) throws SQLException {
+        String sql = "SELECT id, user_id, vehicle_id, pickup_date, dropoff_date, total_charge FROM reservations ORDER BY id";
+        return ResultSetStream.open(sql, fetchSize, resultSet -> new Reservation(
+                resultSet.getInt("id"),
+                resultSet.getInt("user_id"),
+                resultSet.getInt("vehicle_id"),
+                resultSet.getDate("pickup_date"),
+                resultSet.getDate("dropoff_date"),
+                resultSet.getDouble("total_charge")
+        ));
+    }
+
+    /**
+     * Retrieves one page of reservations ordered by ID, starting after the given ID.
+     * Seeking on the primary key costs the same for every page, unlike an OFFSET that
+     * has to skip all the earlier rows.
+     *
+     * @param afterId the ID of the last reservation on the previous page; 0 for the first page
+     * @param pageSize the maximum number of reservations to return
+     * @return the reservations in ascending ID order
+     */
+    public List<Reservation> getReservationsPage(int afterId, int pageSize) {
+        String sql = "SELECT * FROM reservations WHERE id > ? ORDER BY id LIMIT ?";
+        List<Reservation> reservations = new ArrayList<>();
+
+        try (Connection connection = DatabaseConnection.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setInt(1, afterId);
+            statement.setInt(2, pageSize);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    Reservation reservation = new Reservation(
+                            resultSet.getInt("id"),
+                            resultSet.getInt("user_id"),
+                            resultSet.getInt("vehicle_id"),
+                            resultSet.getDate("pickup_date"),
+                            resultSet.getDate("dropoff_date"),
+                            resultSet.getDouble("total_charge")
+                    );
+                    reservations.add(reservation);
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return reservations;
+    }
+
     /**
      * Retrieves all reservations made by a specific user.
      *
@@ -138,18 +230,20 @@ public class ReservationDao {
     }
 
     /**
-     * Retrieves all reservations for a specific vehicle.
+     * Retrieves all reservations for a specific user together with their vehicles, in one query.
      *
-     * @param vehicleId the ID of the vehicle
-     * @return a list of reservations for the vehicle
+     * @param userId the ID of the user
+     * @return the user's reservations, each with its vehicle set, or a null vehicle if it was deleted
      */
-    public List<Reservation> getReservationsByVehicleId(int vehicleId) {
-        String sql = "SELECT * FROM reservations WHERE vehicle_id = ?";
+    public List<Reservation> getReservationsWithVehiclesByUserId(int userId) {
+        String sql = "SELECT r.id, r.user_id, r.vehicle_id, r.pickup_date, r.dropoff_date, r.total_charge, " +
+                "v.id AS v_id, v.vin, v.make, v.model, v.year, v.mileage, v.price_per_day, v.image_path, v.description " +
+                "FROM reservations r LEFT JOIN vehicles v ON v.id = r.vehicle_id WHERE r.user_id = ?";
         List<Reservation> reservations = new ArrayList<>();
 
         try (Connection connection = DatabaseConnection.getConnection();
              PreparedStatement statement = connection.prepareStatement(sql)) {
-            statement.setInt(1, vehicleId);
+            statement.setInt(1, userId);
             ResultSet resultSet = statement.executeQuery();
             while (resultSet.next()) {
                 Reservation reservation = new Reservation(
@@ -160,6 +254,20 @@ public class ReservationDao {
                         resultSet.getDate("dropoff_date"),
                         resultSet.getDouble("total_charge")
                 );
+                int vehicleId = resultSet.getInt("v_id");
+                if (!resultSet.wasNull()) {
+                    reservation.setVehicle(new Vehicle(
+                            vehicleId,
+                            resultSet.getString("vin"),
+                            resultSet.getString("make"),
+                            resultSet.getString("model"),
+                            resultSet.getInt("year"),
+                            resultSet.getDouble("mileage"),
+                            resultSet.getDouble("price_per_day"),
+                            resultSet.getString("image_path"),
+                            resultSet.getString("description")
+                    ));
+                }
                 reservations.add(reservation);
             }
         } catch (SQLException e) {
@@ -170,25 +278,18 @@ public class ReservationDao {
     }
 
     /**
-     * Retrieves reservations that conflict with the given date range for a reservation.
+     * Retrieves all reservations for a specific vehicle.
      *
-     * @param reservationId the ID of the reservation being checked
-     * @param pickupDate the desired pickup date
-     * @param dropOffDate the desired drop-off date
-     * @return a list of conflicting reservations
+     * @param vehicleId the ID of the vehicle
+     * @return a list of reservations for the vehicle
      */
-    public List<Reservation> getConflictingReservations(int reservationId, Date pickupDate, Date dropOffDate) {
-        String sql = "SELECT * FROM reservations WHERE vehicle_id = ? AND id != ? AND " +
-                "(pickup_date < ? AND dropoff_date > ?)";
-        List<Reservation> conflictingReservations = new ArrayList<>();
+    public List<Reservation> getReservationsByVehicleId(int vehicleId) {
+        String sql = "SELECT * FROM reservations WHERE vehicle_id = ?";
+        List<Reservation> reservations = new ArrayList<>();
 
         try (Connection connection = DatabaseConnection.getConnection();
              PreparedStatement statement = connection.prepareStatement(sql)) {
-            statement.setInt(1, reservationId);
-            statement.setInt(2, reservationId);
-            statement.setDate(3, dropOffDate);
-            statement.setDate(4, pickupDate);
-
+            statement.setInt(1, vehicleId);
             ResultSet resultSet = statement.executeQuery();
             while (resultSet.next()) {
                 Reservation reservation = new Reservation(
@@ -199,12 +300,213 @@ public class ReservationDao {
                         resultSet.getDate("dropoff_date"),
                         resultSet.getDouble("total_charge")
                 );
-                conflictingReservations.add(reservation);
+                reservations.add(reservation);
             }
         } catch (SQLException e) {
             e.printStackTrace();
         }
 
+        return reservations;
+    }
+
+    /**
+     * Retrieves reservations of a vehicle that overlap the given date range.
+     * A reservation that ends on the requested pickup date, or starts on the requested
+     * drop-off date, is not a conflict.
+     *
+     * @param vehicleId the ID of the vehicle being checked
+     * @param excludeReservationId the ID of a reservation to ignore, such as the one being edited; 0 for none
+     * @param pickupDate the desired pickup date
+     * @param dropOffDate the desired drop-off date
+     * @return a list of conflicting reservations
+     */
+    public List<Reservation> getConflictingReservations(int vehicleId, int excludeReservationId, Date pickupDate, Date dropOffDate) {
+        List<Reservation> conflictingReservations = new ArrayList<>();
+
+        try (Connection connection = DatabaseConnection.getConnection()) {
+            conflictingReservations = findConflicts(connection, vehicleId, excludeReservationId, pickupDate, dropOffDate, false);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return conflictingReservations;
+    }
+
+    /**
+     * Checks whether any reservation of a vehicle overlaps the given date range, with the same
+     * rules as getConflictingReservations. The query stops at the first overlap it finds and is
+     * answered from the (vehicle_id, pickup_date, dropoff_date) index without reading any rows,
+     * so call getConflictingReservations only when this reports a conflict and the details are needed.
+     *
+     * @param vehicleId the ID of the vehicle being checked
+     * @param excludeReservationId the ID of a reservation to ignore, such as the one being edited; 0 for none
+     * @param pickupDate the desired pickup date
+     * @param dropOffDate the desired drop-off date
+     * @return true if at least one reservation overlaps
+     * @throws SQLException if the lookup fails
+     */
+    public boolean hasConflict(int vehicleId, int excludeReservationId, Date pickupDate, Date dropOffDate) throws SQLException {
+        try (Connection connection = DatabaseConnection.getConnection()) {
+            return conflictExists(connection, vehicleId, excludeReservationId, pickupDate, dropOffDate, false);
+        }
+    }
+
+    /**
+     * Inserts a reservation unless it overlaps another reservation of the same vehicle.
+     * The check and the insert run in one transaction that holds a lock on the vehicle's row,
+     * so concurrent bookings of the same vehicle, from any client, are checked one at a time
+     * while bookings of other vehicles are not blocked.
+     *
+     * @param reservation the reservation to add; once it is inserted its ID is set to the generated key
+     * @return the conflicting reservations; empty if the reservation was inserted
+     * @throws SQLException if the vehicle does not exist or a database access error occurs; nothing is written then
+     */
+    public List<Reservation> addReservationIfAvailable(Reservation reservation) throws SQLException {
+        String sql = "INSERT INTO reservations (user_id, vehicle_id, pickup_date, dropoff_date, total_charge) VALUES (?, ?, ?, ?, ?)";
+
+        return writeIfAvailable(reservation.getVehicleId(), 0, reservation.getPickupDate(), reservation.getDropOffDate(), connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                statement.setInt(1, reservation.getUserId());
+                statement.setInt(2, reservation.getVehicleId());
+                statement.setDate(3, reservation.getPickupDate());
+                statement.setDate(4, reservation.getDropOffDate());
+                statement.setDouble(5, reservation.getTotalCharge());
+                statement.executeUpdate();
+                reservation.setId(generatedId(statement));
+            }
+        });
+    }
+
+    /**
+     * Updates a reservation's dates and total charge unless the new dates overlap another
+     * reservation of the same vehicle, holding a lock on the vehicle's row as addReservationIfAvailable does.
+     *
+     * @param id the ID of the reservation to update
+     * @param vehicleId the ID of the reserved vehicle
+     * @param pickupDate the new pickup date
+     * @param dropOffDate the new drop-off date
+     * @param totalCharge the new total charge
+     * @return the conflicting reservations; empty if the reservation was updated
+     * @throws SQLException if the vehicle or reservation does not exist or a database access error occurs
+     */
+    public List<Reservation> updateReservationIfAvailable(int id, int vehicleId, Date pickupDate, Date dropOffDate,
+                                                          double totalCharge) throws SQLException {
+        String updateSQL = "UPDATE reservations SET pickup_date = ?, dropoff_date = ?, total_charge = ? WHERE id = ?";
+
+        return writeIfAvailable(vehicleId, id, pickupDate, dropOffDate, connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(updateSQL)) {
+                statement.setDate(1, pickupDate);
+                statement.setDate(2, dropOffDate);
+                statement.setDouble(3, totalCharge);
+                statement.setInt(4, id);
+                if (statement.executeUpdate() == 0) {
+                    throw new SQLException("Updating reservation failed, no rows affected.");
+                }
+            }
+        });
+    }
+
+    /**
+     * Writes to a reservation of the vehicle.
+     */
+    @FunctionalInterface
+    private interface ReservationWrite {
+        void write(Connection connection) throws SQLException;
+    }
+
+    /**
+     * Locks the vehicle's row with SELECT ... FOR UPDATE, checks for a reservation overlapping the
+     * dates and runs the write only if there is none, all in one transaction. The overlapping
+     * reservations are only read when there is a conflict to report.
+     *
+     * @return the conflicting reservations; empty if the write ran and was committed
+     */
+    private List<Reservation> writeIfAvailable(int vehicleId, int excludeReservationId, Date pickupDate, Date dropOffDate,
+                                               ReservationWrite write) throws SQLException {
+        String lockSQL = "SELECT id FROM vehicles WHERE id = ? FOR UPDATE";
+
+        try (Connection connection = DatabaseConnection.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                try (PreparedStatement statement = connection.prepareStatement(lockSQL)) {
+                    statement.setInt(1, vehicleId);
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        if (!resultSet.next()) {
+                            throw new SQLException("Vehicle " + vehicleId + " does not exist.");
+                        }
+                    }
+                }
+
+                if (conflictExists(connection, vehicleId, excludeReservationId, pickupDate, dropOffDate, true)) {
+                    List<Reservation> conflicts = findConflicts(connection, vehicleId, excludeReservationId, pickupDate, dropOffDate, true);
+                    connection.rollback();
+                    return conflicts;
+                }
+
+                write.write(connection);
+                connection.commit();
+                return new ArrayList<>();
+            } catch (SQLException e) {
+                connection.rollback();
+                e.printStackTrace();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Runs the overlap check of hasConflict on the given connection, with a locking read
+     * for the same reason as findConflicts.
+     */
+    private boolean conflictExists(Connection connection, int vehicleId, int excludeReservationId,
+                                   Date pickupDate, Date dropOffDate, boolean lockingRead) throws SQLException {
+        String sql = "SELECT 1 FROM reservations WHERE vehicle_id = ? AND id != ? AND " +
+                "(pickup_date < ? AND dropoff_date > ?) LIMIT 1" + (lockingRead ? " FOR UPDATE" : "");
+
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setInt(1, vehicleId);
+            statement.setInt(2, excludeReservationId);
+            statement.setDate(3, dropOffDate);
+            statement.setDate(4, pickupDate);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next();
+            }
+        }
+    }
+
+    /**
+     * Runs the overlap query of getConflictingReservations on the given connection.
+     * A locking read always sees the latest committed reservations, even in a transaction
+     * (such as a UnitOfWork) whose snapshot was taken before the vehicle's row was locked.
+     */
+    private List<Reservation> findConflicts(Connection connection, int vehicleId, int excludeReservationId,
+                                            Date pickupDate, Date dropOffDate, boolean lockingRead) throws SQLException {
+        String sql = "SELECT * FROM reservations WHERE vehicle_id = ? AND id != ? AND " +
+                "(pickup_date < ? AND dropoff_date > ?)" + (lockingRead ? " FOR UPDATE" : "");
+        List<Reservation> conflictingReservations = new ArrayList<>();
+
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setInt(1, vehicleId);
+            statement.setInt(2, excludeReservationId);
+            statement.setDate(3, dropOffDate);
+            statement.setDate(4, pickupDate);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    Reservation reservation = new Reservation(
+                            resultSet.getInt("id"),
+                            resultSet.getInt("user_id"),
+                            resultSet.getInt("vehicle_id"),
+                            resultSet.getDate("pickup_date"),
+                            resultSet.getDate("dropoff_date"),
+                            resultSet.getDouble("total_charge")
+                    );
+                    conflictingReservations.add(reservation);
+                }
+            }
+        }
+
         return conflictingReservations;
     }
 
@@ -310,4 +612,20 @@ public class ReservationDao {
             throw e;
         }
     }
+
+    /**
+     * Reads the key generated by the insert the statement just ran.
+     *
+     * @param statement a statement prepared with RETURN_GENERATED_KEYS that has just inserted one row
+     * @return the generated ID
+     * @throws SQLException if the database did not return a key
+     */
+    private static int generatedId(PreparedStatement statement) throws SQLException {
+        try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+            if (generatedKeys.next()) {
+                return generatedKeys.getInt(1);
+            }
+        }
+        throw new SQLException("Adding reservation failed, no ID obtained.");
+    }
 }
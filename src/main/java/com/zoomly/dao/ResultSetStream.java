@@ -0,0 +1,128 @@
+package com.zoomly.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * ResultSetStream.java
+ * Runs a query and returns its rows as a lazily consumed Stream instead of a list.
+ *
+ * The query runs on a forward-only, read-only statement with the given fetch size, so the driver
+ * holds at most one fetch of rows at a time and memory stays flat however large the table is.
+ * With MySQL this relies on the connection being opened with useCursorFetch, which
+ * DatabaseConnection does. The connection stays borrowed until the stream is closed, so callers
+ * must close it, normally with try-with-resources.
+ */
+class ResultSetStream {
+
+    /**
+     * Rows fetched per round trip when the caller does not choose a fetch size.
+     */
+    static final int DEFAULT_FETCH_SIZE = 1000;
+
+    /**
+     * Maps the current row of a result set to an object.
+     *
+     * @param <T> the row type
+     */
+    @FunctionalInterface
+    interface RowMapper<T> {
+        T map(ResultSet resultSet) throws SQLException;
+    }
+
+    private ResultSetStream() {
+    }
+
+    /**
+     * Runs the query and streams its rows.
+     *
+     * @param sql the query to run; it takes no parameters
+     * @param fetchSize the number of rows the driver fetches per round trip
+     * @param mapper maps each row
+     * @param <T> the row type
+     * @return the rows in the order the query returns them; closing the stream closes the
+     *         result set and gives the connection back to the pool
+     * @throws SQLException if the query cannot be run
+     */
+    static <T> Stream<T> open(String sql, int fetchSize, RowMapper<T> mapper) throws SQLException {
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("Fetch size must be positive: " + fetchSize);
+        }
+
+        Connection connection = DatabaseConnection.getConnection();
+        PreparedStatement statement = null;
+        try {
+            statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            ResultSet resultSet = statement.executeQuery();
+
+            PreparedStatement openStatement = statement;
+            return StreamSupport.stream(new RowSpliterator<>(resultSet, mapper), false)
+                    .onClose(() -> close(resultSet, openStatement, connection));
+        } catch (SQLException | RuntimeException e) {
+            close(null, statement, connection);
+            throw e;
+        }
+    }
+
+    /**
+     * Closes the result set, statement and connection, reporting but not throwing failures,
+     * so the connection is returned to the pool even if the result set fails to close.
+     */
+    private static void close(ResultSet resultSet, PreparedStatement statement, Connection connection) {
+        try {
+            if (resultSet != null) {
+                resultSet.close();
+            }
+        } catch (SQLException e) {
+            System.err.println("Error closing result set: " + e.getMessage());
+        }
+        try {
+            if (statement != null) {
+                statement.close();
+            }
+        } catch (SQLException e) {
+            System.err.println("Error closing statement: " + e.getMessage());
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing connection: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Advances the result set one row per element. A failure while reading a row is rethrown
+     * as an unchecked exception, since Stream operations cannot throw SQLException.
+     */
+    private static class RowSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+        private final ResultSet resultSet;
+        private final RowMapper<T> mapper;
+
+        RowSpliterator(ResultSet resultSet, RowMapper<T> mapper) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.resultSet = resultSet;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            try {
+                if (!resultSet.next()) {
+                    return false;
+                }
+                action.accept(mapper.map(resultSet));
+                return true;
+            } catch (SQLException e) {
+                throw new RuntimeException("Failed to read the next row: " + e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.zoomly.dao;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * SchemaMigrator.java
+ * Brings the connected database's schema up to date by running versioned SQL scripts from the classpath.
+ *
+ * The scripts live in /db/migration and are listed, in the order they run, in /db/migration/migrations.txt.
+ * Each is named V&lt;version&gt;__&lt;description&gt;.sql. Applied scripts are recorded in the schema_version
+ * table together with a checksum of their text, so each runs once per database, and a script that
+ * was edited after it ran is reported instead of silently skipped. Released scripts must therefore
+ * never be changed; a schema change always goes in a new script.
+ *
+ * MySQL commits DDL as it runs, so a script that fails part way is not rolled back and is run again
+ * from the start next time. Scripts should only contain statements that are safe to repeat; an index
+ * that already exists is treated as created, since MySQL has no CREATE INDEX IF NOT EXISTS.
+ *
+ * A named lock is held while migrating, so clients starting at the same time apply each script once.
+ */
+public class SchemaMigrator {
+    private static final Logger LOGGER = Logger.getLogger(SchemaMigrator.class.getName());
+
+    private static final String MIGRATION_DIRECTORY = "/db/migration/";
+    private static final String MIGRATION_LIST = MIGRATION_DIRECTORY + "migrations.txt";
+    private static final Pattern SCRIPT_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+    private static final String LOCK_NAME = "zoomly.schema_migration";
+    private static final int LOCK_TIMEOUT_SECONDS = 60;
+
+    /**
+     * MySQL's error code for a duplicate index name (ER_DUP_KEYNAME).
+     */
+    private static final int DUPLICATE_KEY_NAME = 1061;
+
+    /**
+     * Applies every migration the database has not run yet, in version order.
+     *
+     * @return the file names of the scripts applied by this call; empty if the schema was already current
+     * @throws SQLException if a script fails, an applied script has changed, or the migration lock
+     *         could not be acquired
+     */
+    public List<String> migrate() throws SQLException {
+        List<Migration> migrations = loadMigrations();
+        List<String> applied = new ArrayList<>();
+
+        try (Connection connection = DatabaseConnection.getConnection()) {
+            acquireLock(connection);
+            try {
+                createVersionTable(connection);
+                Map<Integer, String> appliedChecksums = loadAppliedChecksums(connection);
+
+                for (Migration migration : migrations) {
+                    String appliedChecksum = appliedChecksums.get(migration.version);
+                    if (appliedChecksum == null) {
+                        apply(connection, migration);
+                        applied.add(migration.script);
+                    } else if (!appliedChecksum.equals(migration.checksum)) {
+                        throw new SQLException("Migration " + migration.script + " has changed since it was applied "
+                                + "to this database. Put schema changes in a new migration instead.");
+                    }
+                }
+            } finally {
+                releaseLock(connection);
+            }
+        }
+
+        return applied;
+    }
+
+    /**
+     * Runs one script's statements and records it in schema_version.
+     */
+    private void apply(Connection connection, Migration migration) throws SQLException {
+        long start = System.currentTimeMillis();
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : splitStatements(migration.sql)) {
+                try {
+                    statement.execute(sql);
+                } catch (SQLException e) {
+                    if (e.getErrorCode() != DUPLICATE_KEY_NAME) {
+                        throw new SQLException("Migration " + migration.script + " failed: " + e.getMessage(),
+                                e.getSQLState(), e.getErrorCode(), e);
+                    }
+                    LOGGER.warning(migration.script + ": skipping, " + e.getMessage());
+                }
+            }
+        }
+
+        String sql = "INSERT INTO schema_version (version, description, script, checksum, execution_millis) VALUES (?, ?, ?, ?, ?)";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setInt(1, migration.version);
+            statement.setString(2, migration.description);
+            statement.setString(3, migration.script);
+            statement.setString(4, migration.checksum);
+            statement.setLong(5, System.currentTimeMillis() - start);
+            statement.executeUpdate();
+        }
+        LOGGER.info("Applied migration " + migration.script);
+    }
+
+    private void createVersionTable(Connection connection) throws SQLException {
+        String sql = "CREATE TABLE IF NOT EXISTS schema_version ("
+                + "version int NOT NULL, "
+                + "description varchar(200) NOT NULL, "
+                + "script varchar(200) NOT NULL, "
+                + "checksum char(64) NOT NULL, "
+                + "installed_on timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP, "
+                + "execution_millis bigint NOT NULL, "
+                + "PRIMARY KEY (version))";
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private Map<Integer, String> loadAppliedChecksums(Connection connection) throws SQLException {
+        String sql = "SELECT version, checksum FROM schema_version";
+        Map<Integer, String> checksums = new HashMap<>();
+
+        try (PreparedStatement statement = connection.prepareStatement(sql);
+             ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                checksums.put(resultSet.getInt("version"), resultSet.getString("checksum"));
+            }
+        }
+
+        return checksums;
+    }
+
+    private void acquireLock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            statement.setString(1, LOCK_NAME);
+            statement.setInt(2, LOCK_TIMEOUT_SECONDS);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next() || resultSet.getInt(1) != 1) {
+                    throw new SQLException("Timed out waiting for another client to finish migrating the schema.");
+                }
+            }
+        }
+    }
+
+    private void releaseLock(Connection connection) {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            statement.setString(1, LOCK_NAME);
+            statement.executeQuery().close();
+        } catch (SQLException e) {
+            LOGGER.warning("Error releasing the schema migration lock: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the migration list and every script it names, checking that versions only increase.
+     *
+     * @return the migrations in the order they run
+     * @throws SQLException if the list or a script is missing or badly named
+     */
+    List<Migration> loadMigrations() throws SQLException {
+        List<Migration> migrations = new ArrayList<>();
+        int lastVersion = 0;
+
+        for (String script : readResource(MIGRATION_LIST).split("\n")) {
+            script = script.trim();
+            if (script.isEmpty() || script.startsWith("#")) {
+                continue;
+            }
+
+            Matcher matcher = SCRIPT_NAME.matcher(script);
+            if (!matcher.matches()) {
+                throw new SQLException("Migration " + script + " is not named V<version>__<description>.sql");
+            }
+            int version = Integer.parseInt(matcher.group(1));
+            if (version <= lastVersion) {
+                throw new SQLException("Migration " + script + " is listed after version " + lastVersion);
+            }
+            lastVersion = version;
+
+            String sql = readResource(MIGRATION_DIRECTORY + script);
+            migrations.add(new Migration(version, matcher.group(2).replace('_', ' '), script, sql, checksum(sql)));
+        }
+
+        return migrations;
+    }
+
+    /**
+     * Reads a classpath resource as UTF-8 text with Unix line endings, so a script's checksum does
+     * not depend on how the file was checked out.
+     */
+    private String readResource(String path) throws SQLException {
+        try (InputStream in = SchemaMigrator.class.getResourceAsStream(path)) {
+            if (in == null) {
+                throw new SQLException("Migration resource not found: " + path);
+            }
+            StringBuilder text = new StringBuilder();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    text.append(line).append('\n');
+                }
+            }
+            return text.toString();
+        } catch (IOException e) {
+            throw new SQLException("Could not read migration resource " + path + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Splits a script into statements on semicolons, dropping "--" comment lines.
+     */
+    static List<String> splitStatements(String script) {
+        StringBuilder withoutComments = new StringBuilder();
+        for (String line : script.split("\n")) {
+            if (!line.trim().startsWith("--")) {
+                withoutComments.append(line).append('\n');
+            }
+        }
+
+        List<String> statements = new ArrayList<>();
+        for (String sql : withoutComments.toString().split(";")) {
+            sql = sql.trim();
+            if (!sql.isEmpty()) {
+                statements.add(sql);
+            }
+        }
+        return statements;
+    }
+
+    static String checksum(String sql) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(sql.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * One migration script and its parsed name.
+     */
+    static class Migration {
+        final int version;
+        final String description;
+        final String script;
+        final String sql;
+        final String checksum;
+
+        Migration(int version, String description, String script, String sql, String checksum) {
+            this.version = version;
+            this.description = description;
+            this.script = script;
+            this.sql = sql;
+            this.checksum = checksum;
+        }
+    }
+}
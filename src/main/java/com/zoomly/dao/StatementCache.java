@@ -0,0 +1,282 @@
+package com.zoomly.dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * StatementCache.java
+ * A least-recently-used cache of prepared statements for one pooled connection, keyed by SQL text
+ * and by whether the statement returns generated keys.
+ *
+ * Callers receive a handle to the cached statement. Closing the handle closes any result sets
+ * it opened and clears its parameters, but keeps the statement prepared for the next caller that
+ * uses the same SQL. If a statement is already in use (for example a nested query with the same
+ * SQL), a separate uncached statement is prepared instead.
+ */
+class StatementCache {
+    private static final Set<String> STATEMENT_SETTINGS = Set.of(
+            "setFetchSize", "setFetchDirection", "setMaxRows", "setMaxFieldSize", "setQueryTimeout");
+
+    private final Connection physical;
+    private final int capacity;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LinkedHashMap<String, CachedStatement> statements;
+
+    /**
+     * Creates an empty cache for a physical connection.
+     *
+     * @param physical the connection statements are prepared on
+     * @param capacity the maximum number of cached statements; 0 disables caching
+     * @param hits counter incremented when a cached statement is reused
+     * @param misses counter incremented when a statement has to be prepared
+     */
+    StatementCache(Connection physical, int capacity, LongAdder hits, LongAdder misses) {
+        this.physical = physical;
+        this.capacity = capacity;
+        this.hits = hits;
+        this.misses = misses;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Returns a prepared statement for the given SQL, reusing a cached one when possible.
+     *
+     * @param sql the SQL text
+     * @param owner the connection handle the statement should report as its connection
+     * @return a PreparedStatement handle
+     * @throws SQLException if the statement cannot be prepared
+     */
+    synchronized PreparedStatement prepare(String sql, Connection owner) throws SQLException {
+        return prepare(sql, Statement.NO_GENERATED_KEYS, owner);
+    }
+
+    /**
+     * Returns a prepared statement for the given SQL, reusing a cached one when possible.
+     * Statements that return generated keys are cached separately from those that do not.
+     *
+     * @param sql the SQL text
+     * @param autoGeneratedKeys Statement.RETURN_GENERATED_KEYS or Statement.NO_GENERATED_KEYS
+     * @param owner the connection handle the statement should report as its connection
+     * @return a PreparedStatement handle
+     * @throws SQLException if the statement cannot be prepared
+     */
+    synchronized PreparedStatement prepare(String sql, int autoGeneratedKeys, Connection owner) throws SQLException {
+        if (capacity <= 0) {
+            misses.increment();
+            return prepareOnPhysical(sql, autoGeneratedKeys);
+        }
+
+        String key = autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS ? "[keys] " + sql : sql;
+        CachedStatement cached = statements.get(key);
+        if (cached != null) {
+            if (cached.handle != null) {
+                misses.increment();
+                return prepareOnPhysical(sql, autoGeneratedKeys);
+            }
+            hits.increment();
+            return cached.open(owner);
+        }
+
+        misses.increment();
+        cached = new CachedStatement(key, sql, prepareOnPhysical(sql, autoGeneratedKeys));
+        statements.put(key, cached);
+        evictOverflow();
+        return cached.open(owner);
+    }
+
+    /**
+     * Closes every handle still open, for when the borrower returns the connection
+     * without closing its statements.
+     */
+    synchronized void closeOpenHandles() {
+        for (CachedStatement cached : new ArrayList<>(statements.values())) {
+            if (cached.handle != null) {
+                cached.handle.closeHandle();
+            }
+        }
+    }
+
+    /**
+     * Closes every cached statement and empties the cache.
+     */
+    synchronized void clear() {
+        for (CachedStatement cached : statements.values()) {
+            cached.closePhysical();
+        }
+        statements.clear();
+    }
+
+    private PreparedStatement prepareOnPhysical(String sql, int autoGeneratedKeys) throws SQLException {
+        return autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS
+                ? physical.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)
+                : physical.prepareStatement(sql);
+    }
+
+    /**
+     * Drops least-recently-used statements until the cache is within its capacity.
+     * Statements that are still in use are closed when their handle is closed.
+     */
+    private void evictOverflow() {
+        Iterator<Map.Entry<String, CachedStatement>> eldestFirst = statements.entrySet().iterator();
+        while (statements.size() > capacity && eldestFirst.hasNext()) {
+            CachedStatement eldest = eldestFirst.next().getValue();
+            eldestFirst.remove();
+            eldest.evicted = true;
+            if (eldest.handle == null) {
+                eldest.closePhysical();
+            }
+        }
+    }
+
+    /**
+     * A prepared statement held by the cache and the handle currently using it, if any.
+     */
+    private class CachedStatement {
+        private final String key;
+        private final String sql;
+        private final PreparedStatement statement;
+        private Handle handle;
+        private boolean evicted;
+
+        CachedStatement(String key, String sql, PreparedStatement statement) {
+            this.key = key;
+            this.sql = sql;
+            this.statement = statement;
+        }
+
+        PreparedStatement open(Connection owner) {
+            handle = new Handle(this, owner);
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    handle);
+        }
+
+        void closePhysical() {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                System.err.println("Error closing cached statement: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Routes calls on a statement handle to the cached statement until the handle is closed.
+     */
+    private class Handle implements InvocationHandler {
+        private final CachedStatement cached;
+        private final Connection owner;
+        private final List<ResultSet> resultSets = new ArrayList<>(1);
+        private boolean closed;
+        private boolean reconfigured;
+
+        Handle(CachedStatement cached, Connection owner) {
+            this.cached = cached;
+            this.owner = owner;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "close":
+                    synchronized (StatementCache.this) {
+                        closeHandle();
+                    }
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "getConnection":
+                    return owner;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + cached.sql + "]";
+                default:
+                    break;
+            }
+
+            if (closed) {
+                throw new SQLException("Statement is closed.");
+            }
+
+            if (name.startsWith("set") && !isParameterSetter(method)) {
+                reconfigured = true;
+            }
+
+            Object result;
+            try {
+                result = method.invoke(cached.statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+
+            if (result instanceof ResultSet) {
+                resultSets.add((ResultSet) result);
+            }
+            return result;
+        }
+
+        /**
+         * Parameter setters take the parameter index as their first argument; other setters
+         * change statement-level settings such as fetch size or max rows.
+         *
+         * @param method the invoked method
+         * @return true if the method binds a parameter
+         */
+        private boolean isParameterSetter(Method method) {
+            Class<?>[] types = method.getParameterTypes();
+            return types.length >= 2 && types[0] == int.class && !STATEMENT_SETTINGS.contains(method.getName());
+        }
+
+        /**
+         * Releases the cached statement for reuse. Statements whose settings were changed, or
+         * that were evicted while in use, are closed instead.
+         */
+        void closeHandle() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+
+            boolean reusable = !cached.evicted && !reconfigured;
+            try {
+                for (ResultSet resultSet : resultSets) {
+                    resultSet.close();
+                }
+                if (reusable) {
+                    cached.statement.clearParameters();
+                    cached.statement.clearBatch();
+                }
+            } catch (SQLException e) {
+                reusable = false;
+            }
+
+            cached.handle = null;
+            if (!reusable) {
+                if (!cached.evicted) {
+                    statements.remove(cached.key);
+                }
+                cached.closePhysical();
+            }
+        }
+    }
+}
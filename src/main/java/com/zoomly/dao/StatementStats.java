@@ -0,0 +1,79 @@
+package com.zoomly.dao;
+
+/**
+ * StatementStats.java
+ * An immutable snapshot of the timings recorded by JdbcMetrics for one SQL template.
+ *
+ * Latencies cover the execute call only - for a query, the time until the driver returned the
+ * result set - not the time the caller then spent reading the rows.
+ */
+public class StatementStats {
+    private final String sql;
+    private final long executions;
+    private final long errors;
+    private final long slowExecutions;
+    private final long rowsReturned;
+    private final long rowsUpdated;
+    private final long totalNanos;
+    private final long p50Nanos;
+    private final long p99Nanos;
+    private final long maxNanos;
+
+    /**
+     * Constructs a new snapshot.
+     *
+     * @param sql the SQL template, with whitespace collapsed and placeholder lists shortened
+     * @param executions number of times the statement was executed
+     * @param errors number of executions that threw an SQLException
+     * @param slowExecutions number of executions slower than the slow statement threshold
+     * @param rowsReturned number of rows read from the statement's result sets
+     * @param rowsUpdated number of rows the statement inserted, updated or deleted
+     * @param totalNanos total execution time
+     * @param p50Nanos median execution time
+     * @param p99Nanos 99th percentile execution time
+     * @param maxNanos longest execution time
+     */
+    public StatementStats(String sql, long executions, long errors, long slowExecutions,
+                          long rowsReturned, long rowsUpdated,
+                          long totalNanos, long p50Nanos, long p99Nanos, long maxNanos) {
+        this.sql = sql;
+        this.executions = executions;
+        this.errors = errors;
+        this.slowExecutions = slowExecutions;
+        this.rowsReturned = rowsReturned;
+        this.rowsUpdated = rowsUpdated;
+        this.totalNanos = totalNanos;
+        this.p50Nanos = p50Nanos;
+        this.p99Nanos = p99Nanos;
+        this.maxNanos = maxNanos;
+    }
+
+    public String getSql() { return sql; }
+
+    public long getExecutions() { return executions; }
+
+    public long getErrors() { return errors; }
+
+    public long getSlowExecutions() { return slowExecutions; }
+
+    public long getRowsReturned() { return rowsReturned; }
+
+    public long getRowsUpdated() { return rowsUpdated; }
+
+    public double getTotalMillis() { return totalNanos / 1_000_000.0; }
+
+    public double getMeanMillis() { return executions == 0 ? 0.0 : totalNanos / (double) executions / 1_000_000.0; }
+
+    public double getP50Millis() { return p50Nanos / 1_000_000.0; }
+
+    public double getP99Millis() { return p99Nanos / 1_000_000.0; }
+
+    public double getMaxMillis() { return maxNanos / 1_000_000.0; }
+
+    @Override
+    public String toString() {
+        return String.format("StatementStats{executions=%d, errors=%d, slow=%d, rowsReturned=%d, rowsUpdated=%d, total=%.3fms, p50=%.3fms, p99=%.3fms, max=%.3fms, sql=%s}",
+                executions, errors, slowExecutions, rowsReturned, rowsUpdated, getTotalMillis(),
+                getP50Millis(), getP99Millis(), getMaxMillis(), sql);
+    }
+}
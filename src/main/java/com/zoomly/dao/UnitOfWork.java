@@ -0,0 +1,190 @@
+package com.zoomly.dao;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * UnitOfWork.java
+ * Binds one database connection and transaction to the current thread so that several DAO calls
+ * run on the same connection and are committed together.
+ *
+ * While a unit of work is open, DatabaseConnection.getConnection() returns the unit's connection
+ * instead of borrowing a new one from the pool, so DAO methods join the unit without any change.
+ * The handle they get ignores close(), setAutoCommit() and commit(); a rollback() made by a DAO
+ * marks the whole unit for rollback instead. The unit is committed only by its owner:
+ *
+ * <pre>
+ * try (UnitOfWork unit = UnitOfWork.begin()) {
+ *     userDao.updateEmail(id, email);
+ *     userDao.updateFirstName(id, firstName);
+ *     unit.commit();
+ * }
+ * </pre>
+ *
+ * Closing a unit that was not committed rolls it back. Calling begin() while a unit is already
+ * open on the thread joins that unit: the inner commit() does nothing, and closing the inner
+ * unit without committing marks the outer one for rollback.
+ */
+public class UnitOfWork implements AutoCloseable {
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private final Scope scope;
+    private final boolean outermost;
+    private boolean completed;
+
+    private UnitOfWork(Scope scope, boolean outermost) {
+        this.scope = scope;
+        this.outermost = outermost;
+    }
+
+    /**
+     * Starts a unit of work on the current thread, or joins the one already open.
+     *
+     * @return the unit of work; close it when the operation is done
+     * @throws SQLException if no connection could be obtained
+     */
+    public static UnitOfWork begin() throws SQLException {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            return new UnitOfWork(scope, false);
+        }
+
+        Connection connection = DatabaseConnection.getConnection();
+        try {
+            connection.setAutoCommit(false);
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        scope = new Scope(connection);
+        CURRENT.set(scope);
+        return new UnitOfWork(scope, true);
+    }
+
+    /**
+     * Checks whether a unit of work is open on the current thread.
+     *
+     * @return true if DAO calls on this thread join a unit of work
+     */
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Returns the connection DAO calls on this thread should use, if a unit of work is open.
+     *
+     * @return a handle to the unit's connection that DAOs may close freely, or null if no unit is open
+     */
+    static Connection joinedConnection() {
+        Scope scope = CURRENT.get();
+        return scope == null ? null : scope.joined;
+    }
+
+    /**
+     * Commits the unit's work. Only the outermost unit commits; a joined unit just records that it finished.
+     *
+     * @throws SQLException if the commit fails, or if a participant marked the unit for rollback,
+     *         in which case the work is rolled back
+     */
+    public void commit() throws SQLException {
+        if (completed) {
+            throw new SQLException("Unit of work has already been completed.");
+        }
+        completed = true;
+        if (!outermost) {
+            return;
+        }
+
+        if (scope.rollbackOnly) {
+            scope.connection.rollback();
+            throw new SQLException("Unit of work was marked for rollback and has been rolled back.");
+        }
+        scope.connection.commit();
+    }
+
+    /**
+     * Rolls the unit's work back. In a joined unit this marks the outer unit for rollback.
+     *
+     * @throws SQLException if the rollback fails
+     */
+    public void rollback() throws SQLException {
+        completed = true;
+        if (outermost) {
+            scope.connection.rollback();
+        } else {
+            scope.rollbackOnly = true;
+        }
+    }
+
+    /**
+     * Ends the unit. An outermost unit that was not committed is rolled back and its connection
+     * is returned to the pool.
+     *
+     * @throws SQLException if the rollback or the return to the pool fails
+     */
+    @Override
+    public void close() throws SQLException {
+        if (!outermost) {
+            if (!completed) {
+                scope.rollbackOnly = true;
+            }
+            return;
+        }
+
+        CURRENT.remove();
+        try {
+            if (!completed) {
+                scope.connection.rollback();
+            }
+        } finally {
+            scope.connection.close();
+        }
+    }
+
+    /**
+     * The connection shared by a thread's units of work.
+     */
+    private static class Scope {
+        private final Connection connection;
+        private final Connection joined;
+        private boolean rollbackOnly;
+
+        Scope(Connection connection) {
+            this.connection = connection;
+            this.joined = (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "close":
+                            case "setAutoCommit":
+                            case "commit":
+                                return null;
+                            case "rollback":
+                                if (args == null) {
+                                    rollbackOnly = true;
+                                    return null;
+                                }
+                                break;
+                            case "getAutoCommit":
+                                return false;
+                            case "isClosed":
+                                return CURRENT.get() != this || connection.isClosed();
+                            case "equals":
+                                return proxy == args[0];
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            default:
+                                break;
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
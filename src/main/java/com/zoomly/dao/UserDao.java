@@ -6,9 +6,15 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * UserDao.java
@@ -16,6 +22,10 @@ import java.util.Optional;
  * Provides methods for adding, retrieving, updating, and deleting users.
  */
 public class UserDao {
+    /**
+     * The most emails bound into one IN list by findRegisteredEmails.
+     */
+    private static final int EMAIL_LOOKUP_CHUNK_SIZE = 500;
 
     /**
      * Adds a new user to the database.
@@ -25,20 +35,45 @@ public class UserDao {
      * @param email user's email
      * @param password user's password
      * @param accountType user's account type
+     * @return the ID generated for the new user, or -1 if the user could not be added
      */
-    public void addUser(String firstName, String lastName, String email, String password, String accountType) {
+    public int addUser(String firstName, String lastName, String email, String password, String accountType) {
         String sql = "INSERT INTO users (first_name, last_name, email, password, account_type) VALUES (?, ?, ?, ?, ?)";
         try (Connection connection = DatabaseConnection.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+             PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             statement.setString(1, firstName);
             statement.setString(2, lastName);
             statement.setString(3, email);
             statement.setString(4, password);
             statement.setString(5, accountType);
             statement.executeUpdate();
+            try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+                if (generatedKeys.next()) {
+                    return generatedKeys.getInt(1);
+                }
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
+        return -1;
+    }
+
+    /**
+     * Adds several users in one batched transaction.
+     *
+     * @param users the users to add; their IDs are ignored
+     * @return the generated ID of each user; Statement.EXECUTE_FAILED for users the database rejected, such as duplicate emails
+     * @throws SQLException if the batch could not be written at all
+     */
+    public int[] addUsers(List<User> users) throws SQLException {
+        String sql = "INSERT INTO users (first_name, last_name, email, password, account_type) VALUES (?, ?, ?, ?, ?)";
+        return BatchWriter.executeReturningKeys(sql, users, (statement, user) -> {
+            statement.setString(1, user.getFirstName());
+            statement.setString(2, user.getLastName());
+            statement.setString(3, user.getEmail());
+            statement.setString(4, user.getPassword());
+            statement.setString(5, user.getAccountType());
+        });
     }
 
     /**
@@ -72,6 +107,131 @@ public class UserDao {
         return Optional.ofNullable(user);
     }
 
+    /**
+     * Checks whether an email is registered. The email column's collation is case-insensitive,
+     * so the comparison ignores case and is answered by a probe of its unique index.
+     *
+     * @param email email address to look for
+     * @return true if a user has this email
+     * @throws SQLException if the lookup fails
+     */
+    public boolean emailExists(String email) throws SQLException {
+        String sql = "SELECT EXISTS (SELECT 1 FROM users WHERE email = ?)";
+
+        try (Connection connection = DatabaseConnection.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, email);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+
+    /**
+     * Finds which of the given emails are already registered, in chunks of
+     * EMAIL_LOOKUP_CHUNK_SIZE emails per query. Used to check a whole import batch at once.
+     *
+     * @param emails email addresses to look for
+     * @return the registered emails, lower-cased
+     * @throws SQLException if a lookup fails
+     */
+    public Set<String> findRegisteredEmails(Collection<String> emails) throws SQLException {
+        Set<String> registered = new HashSet<>();
+        List<String> pending = new ArrayList<>(emails);
+        if (pending.isEmpty()) {
+            return registered;
+        }
+
+        try (Connection connection = DatabaseConnection.getConnection()) {
+            for (int from = 0; from < pending.size(); from += EMAIL_LOOKUP_CHUNK_SIZE) {
+                List<String> chunk = pending.subList(from, Math.min(from + EMAIL_LOOKUP_CHUNK_SIZE, pending.size()));
+                StringBuilder sql = new StringBuilder("SELECT email FROM users WHERE email IN (");
+                for (int i = 0; i < chunk.size(); i++) {
+                    sql.append(i == 0 ? "?" : ", ?");
+                }
+                sql.append(")");
+
+                try (PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        statement.setString(i + 1, chunk.get(i));
+                    }
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            registered.add(resultSet.getString("email").toLowerCase(Locale.ROOT));
+                        }
+                    }
+                }
+            }
+        }
+
+        return registered;
+    }
+
+    /**
+     * Writes the fields of a user that changed since it was loaded or last saved, all in one UPDATE.
+     * Nothing is sent to the database when no field has changed. On success the user is marked
+     * as saved and returned as it now stands in the database, without reading it back.
+     *
+     * @param user the user with changed fields
+     * @return the same user, now marked as saved
+     * @throws SQLException if the update fails or no user has this ID
+     */
+    public User updateChangedFields(User user) throws SQLException {
+        Set<User.Field> changed = user.getChangedFields();
+        if (changed.isEmpty()) {
+            return user;
+        }
+
+        StringBuilder sql = new StringBuilder("UPDATE users SET ");
+        List<String> values = new ArrayList<>(changed.size());
+        // Changed fields come back in declaration order, so each combination always produces the same SQL
+        // and the statement cache can reuse it.
+        for (User.Field field : changed) {
+            if (!values.isEmpty()) {
+                sql.append(", ");
+            }
+            switch (field) {
+                case FIRST_NAME:
+                    sql.append("first_name = ?");
+                    values.add(user.getFirstName());
+                    break;
+                case LAST_NAME:
+                    sql.append("last_name = ?");
+                    values.add(user.getLastName());
+                    break;
+                case EMAIL:
+                    sql.append("email = ?");
+                    values.add(user.getEmail());
+                    break;
+                case PASSWORD:
+                    sql.append("password = ?");
+                    values.add(user.getPassword());
+                    break;
+                case ACCOUNT_TYPE:
+                    sql.append("account_type = ?");
+                    values.add(user.getAccountType());
+                    break;
+            }
+        }
+        sql.append(" WHERE id = ?");
+
+        try (Connection connection = DatabaseConnection.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+            for (int i = 0; i < values.size(); i++) {
+                statement.setString(i + 1, values.get(i));
+            }
+            statement.setInt(values.size() + 1, user.getId());
+
+            if (statement.executeUpdate() == 0) {
+                throw new SQLException("Updating user failed, no user with ID " + user.getId() + ".");
+            }
+        }
+
+        user.markSaved();
+        return user;
+    }
+
     /**
      * Updates the email of a user.
      *
@@ -218,6 +378,75 @@ public class UserDao {
         return users;
     }
 
+    /**
+     * Streams all users in ID order without loading them into memory at once.
+     * The stream holds a database connection until it is closed.
+     *
+     * @return a stream of all users; close it when done
+     * @throws SQLException if the query cannot be run
+     */
+    public Stream<User> streamAllUsers() throws SQLException {
+        return streamAllUsers(ResultSetStream.DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * Streams all users in ID order, fetching the given number of rows per round trip.
+     * The stream holds a database connection until it is closed.
+     *
+     * @param fetchSize the number of rows read from the database at a time
+     * @return a stream of all users; close it when done
+     * @throws SQLException if the query cannot be run
+     */
+    public Stream<User> streamAllUsers(int fetchSize) throws SQLException {
+        String sql = "SELECT id, first_name, last_name, email, password, account_type FROM users ORDER BY id";
+        return ResultSetStream.open(sql, fetchSize, resultSet -> new User(
+                resultSet.getInt("id"),
+                resultSet.getString("first_name"),
+                resultSet.getString("last_name"),
+                resultSet.getString("email"),
+                resultSet.getString("password"),
+                resultSet.getString("account_type")
+        ));
+    }
+
+    /**
+     * Retrieves one page of users ordered by ID, starting after the given ID.
+     * Seeking on the primary key costs the same for every page, unlike an OFFSET that
+     * has to skip all the earlier rows.
+     *
+     * @param afterId the ID of the last user on the previous page; 0 for the first page
+     * @param pageSize the maximum number of users to return
+     * @return the users in ascending ID order
+     */
+    public List<User> getUsersPage(int afterId, int pageSize) {
+        List<User> users = new ArrayList<>();
+        String sql = "SELECT * FROM users WHERE id > ? ORDER BY id LIMIT ?";
+
+        try (Connection connection = DatabaseConnection.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setInt(1, afterId);
+            statement.setInt(2, pageSize);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    User user = new User(
+                            resultSet.getInt("id"),
+                            resultSet.getString("first_name"),
+                            resultSet.getString("last_name"),
+                            resultSet.getString("email"),
+                            resultSet.getString("password"),
+                            resultSet.getString("account_type")
+                    );
+                    users.add(user);
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return users;
+    }
+
     /**
      * Deletes a user from the database.
      *
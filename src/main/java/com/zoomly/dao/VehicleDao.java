@@ -1,11 +1,13 @@
 package com.zoomly.dao;
 
 import com.zoomly.model.Vehicle;
+import com.zoomly.model.VehicleSummary;
 
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * VehicleDao.java
@@ -13,6 +15,10 @@ import java.util.Optional;
  * Provides methods for adding, retrieving, updating, and deleting vehicles.
  */
 public class VehicleDao {
+    /**
+     * The columns listings need; VehicleSummary is built from these.
+     */
+    private static final String SUMMARY_COLUMNS = "id, make, model, year, mileage, price_per_day, image_path";
 
     /**
      * Adds a new vehicle to the database.
@@ -25,13 +31,14 @@ public class VehicleDao {
      * @param pricePerDay daily rental price
      * @param imagePath file path of vehicle image
      * @param description vehicle description
+     * @return the ID generated for the new vehicle
      * @throws SQLException if insertion fails
      */
-    public void addVehicle(String vin, String make, String model, int year, double mileage, double pricePerDay, String imagePath, String description) throws SQLException {
+    public int addVehicle(String vin, String make, String model, int year, double mileage, double pricePerDay, String imagePath, String description) throws SQLException {
         String sql = "INSERT INTO vehicles (vin, make, model, year, mileage, price_per_day, image_path, description) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
 
         try (Connection connection = DatabaseConnection.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+             PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             statement.setString(1, vin.trim());
             statement.setString(2, make);
             statement.setString(3, model);
@@ -41,6 +48,12 @@ public class VehicleDao {
             statement.setString(7, imagePath);
             statement.setString(8, description);
             statement.executeUpdate();
+            try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+                if (generatedKeys.next()) {
+                    return generatedKeys.getInt(1);
+                }
+            }
+            throw new SQLException("Adding vehicle failed, no ID obtained.");
         } catch (SQLException e) {
             System.err.println("SQL State: " + e.getSQLState());
             System.err.println("Error Code: " + e.getErrorCode());
@@ -48,6 +61,27 @@ public class VehicleDao {
         }
     }
 
+    /**
+     * Adds several vehicles in one batched transaction.
+     *
+     * @param vehicles the vehicles to add; their IDs are ignored
+     * @return the generated ID of each vehicle; Statement.EXECUTE_FAILED for vehicles the database rejected, such as duplicate VINs
+     * @throws SQLException if the batch could not be written at all
+     */
+    public int[] addVehicles(List<Vehicle> vehicles) throws SQLException {
+        String sql = "INSERT INTO vehicles (vin, make, model, year, mileage, price_per_day, image_path, description) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        return BatchWriter.executeReturningKeys(sql, vehicles, (statement, vehicle) -> {
+            statement.setString(1, vehicle.getVin().trim());
+            statement.setString(2, vehicle.getMake());
+            statement.setString(3, vehicle.getModel());
+            statement.setInt(4, vehicle.getYear());
+            statement.setDouble(5, vehicle.getMileage());
+            statement.setDouble(6, vehicle.getPricePerDay());
+            statement.setString(7, vehicle.getImagePath());
+            statement.setString(8, vehicle.getDescription());
+        });
+    }
+
     /**
      * Retrieves a vehicle by its ID.
      *
@@ -83,35 +117,205 @@ public class VehicleDao {
     }
 
     /**
-     * Retrieves all vehicles from the database.
+     * Streams all vehicles in ID order without loading them into memory at once.
+     * The stream holds a database connection until it is closed.
+     *
+     * @return a stream of all vehicles; close it when done
+     * @throws SQLException if the query cannot be run
+     */
+    public Stream<Vehicle> streamAll() throws SQLException {
+        return streamAll(ResultSetStream.DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * Streams all vehicles in ID order, fetching the given number of rows per round trip.
+     * The stream holds a database connection until it is closed.
+     *
+     * @param fetchSize the number of rows read from the database at a time
+     * @return a stream of all vehicles; close it when done
+     * @throws SQLException if the query cannot be run
+     */
+    public Stream<Vehicle> streamAll(int fetchSize) throws SQLException {
+        String sql = "SELECT id, vin, make, model, year, mileage, price_per_day, image_path, description FROM vehicles ORDER BY id";
+        return ResultSetStream.open(sql, fetchSize, resultSet -> new Vehicle(
+                resultSet.getInt("id"),
+                resultSet.getString("vin"),
+                resultSet.getString("make"),
+                resultSet.getString("model"),
+                resultSet.getInt("year"),
+                resultSet.getDouble("mileage"),
+                resultSet.getDouble("price_per_day"),
+                resultSet.getString("image_path"),
+                resultSet.getString("description")
+        ));
+    }
+
+    /**
+     * Retrieves one page of vehicles ordered by ID, starting after the given ID.
+     * Seeking on the primary key costs the same for every page, unlike an OFFSET that
+     * has to skip all the earlier rows.
      *
-     * @return list of all vehicles
+     * @param afterId the ID of the last vehicle on the previous page; 0 for the first page
+     * @param pageSize the maximum number of vehicles to return
+     * @return the vehicles in ascending ID order
      * @throws SQLException if retrieval fails
      */
-    public List<Vehicle> findAll() throws SQLException {
-        String sql = "SELECT * FROM vehicles";
+    public List<Vehicle> findPage(int afterId, int pageSize) throws SQLException {
+        String sql = "SELECT id, vin, make, model, year, mileage, price_per_day, image_path, description "
+                + "FROM vehicles WHERE id > ? ORDER BY id LIMIT ?";
         List<Vehicle> vehicles = new ArrayList<>();
 
+        try (Connection connection = DatabaseConnection.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setInt(1, afterId);
+            statement.setInt(2, pageSize);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    Vehicle vehicle = new Vehicle(
+                            resultSet.getInt("id"),
+                            resultSet.getString("vin"),
+                            resultSet.getString("make"),
+                            resultSet.getString("model"),
+                            resultSet.getInt("year"),
+                            resultSet.getDouble("mileage"),
+                            resultSet.getDouble("price_per_day"),
+                            resultSet.getString("image_path"),
+                            resultSet.getString("description")
+                    );
+                    vehicles.add(vehicle);
+                }
+            }
+        }
+
+        return vehicles;
+    }
+
+    /**
+     * Finds the summaries of the vehicles matching the given criteria. Filters become a
+     * parameterized WHERE clause so the database can answer them from its make/model and price
+     * indexes instead of returning the whole table. An availability filter is an anti-join against
+     * reservations, so every vehicle free for the period is found in the same query. Only the
+     * columns a listing shows are selected, leaving out the VIN and description.
+     *
+     * @param criteria the filters, sort order and page to return
+     * @return the matching vehicle summaries in the requested order
+     * @throws SQLException if the query fails
+     */
+    public List<VehicleSummary> searchSummaries(VehicleSearchCriteria criteria) throws SQLException {
+        List<Object> parameters = new ArrayList<>();
+        String sql = buildSearchSql(SUMMARY_COLUMNS, criteria, parameters);
+
+        List<VehicleSummary> summaries = new ArrayList<>();
+        try (Connection connection = DatabaseConnection.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    summaries.add(mapSummary(resultSet));
+                }
+            }
+        }
+
+        return summaries;
+    }
+
+    /**
+     * Retrieves the summaries of all vehicles, in ID order. Only the columns a listing shows are
+     * read, so the description text is never transferred.
+     *
+     * @return list of all vehicle summaries
+     * @throws SQLException if retrieval fails
+     */
+    public List<VehicleSummary> findAllSummaries() throws SQLException {
+        String sql = "SELECT " + SUMMARY_COLUMNS + " FROM vehicles ORDER BY id";
+        List<VehicleSummary> summaries = new ArrayList<>();
+
         try (Connection connection = DatabaseConnection.getConnection();
              PreparedStatement statement = connection.prepareStatement(sql);
              ResultSet resultSet = statement.executeQuery()) {
             while (resultSet.next()) {
-                Vehicle vehicle = new Vehicle(
-                        resultSet.getInt("id"),
-                        resultSet.getString("vin"),
-                        resultSet.getString("make"),
-                        resultSet.getString("model"),
-                        resultSet.getInt("year"),
-                        resultSet.getDouble("mileage"),
-                        resultSet.getDouble("price_per_day"),
-                        resultSet.getString("image_path"),
-                        resultSet.getString("description")
-                );
-                vehicles.add(vehicle);
+                summaries.add(mapSummary(resultSet));
             }
         }
 
-        return vehicles;
+        return summaries;
+    }
+
+    /**
+     * Builds the SELECT for a search. Filters become a parameterized WHERE clause, and their
+     * values are appended to parameters in placeholder order.
+     *
+     * @param columns the select list
+     * @param criteria the filters, sort order and page to return
+     * @param parameters receives the values to bind
+     * @return the SQL text
+     */
+    private static String buildSearchSql(String columns, VehicleSearchCriteria criteria, List<Object> parameters) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(columns).append(" FROM vehicles");
+        List<String> conditions = new ArrayList<>();
+
+        if (criteria.getMake() != null) {
+            conditions.add("make = ?");
+            parameters.add(criteria.getMake());
+        }
+        if (criteria.getModel() != null) {
+            conditions.add("model = ?");
+            parameters.add(criteria.getModel());
+        }
+        if (criteria.getMaxMileage() != null) {
+            conditions.add("mileage <= ?");
+            parameters.add(criteria.getMaxMileage());
+        }
+        if (criteria.getMaxPricePerDay() != null) {
+            conditions.add("price_per_day <= ?");
+            parameters.add(criteria.getMaxPricePerDay());
+        }
+        if (criteria.getMaxYear() != null) {
+            conditions.add("year <= ?");
+            parameters.add(criteria.getMaxYear());
+        }
+        if (criteria.getAvailableFrom() != null && criteria.getAvailableTo() != null) {
+            conditions.add("NOT EXISTS (SELECT 1 FROM reservations r WHERE r.vehicle_id = vehicles.id"
+                    + " AND r.pickup_date < ? AND r.dropoff_date > ?)");
+            parameters.add(criteria.getAvailableTo());
+            parameters.add(criteria.getAvailableFrom());
+        }
+
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+
+        String direction = criteria.isDescending() ? " DESC" : " ASC";
+        sql.append(" ORDER BY ");
+        for (String column : criteria.getSortField().getColumns()) {
+            if (!column.equals("id")) {
+                sql.append(column).append(direction).append(", ");
+            }
+        }
+        sql.append("id").append(direction);
+
+        if (criteria.getLimit() > 0) {
+            sql.append(" LIMIT ? OFFSET ?");
+            parameters.add(criteria.getLimit());
+            parameters.add(criteria.getOffset());
+        }
+
+        return sql.toString();
+    }
+
+    private static VehicleSummary mapSummary(ResultSet resultSet) throws SQLException {
+        return new VehicleSummary(
+                resultSet.getInt("id"),
+                resultSet.getString("make"),
+                resultSet.getString("model"),
+                resultSet.getInt("year"),
+                resultSet.getDouble("mileage"),
+                resultSet.getDouble("price_per_day"),
+                resultSet.getString("image_path")
+        );
     }
 
     /**
@@ -0,0 +1,150 @@
+package com.zoomly.dao;
+
+import java.sql.Date;
+
+/**
+ * VehicleSearchCriteria.java
+ * Filters, sort order and paging for VehicleDao.searchSummaries.
+ * Every filter is optional; a null filter does not restrict the results.
+ */
+public class VehicleSearchCriteria {
+
+    /**
+     * The columns search results can be ordered by. Only these columns are ever written into the
+     * ORDER BY clause, so the sort order cannot be used to inject SQL.
+     */
+    public enum SortField {
+        ID("id"),
+        MAKE_MODEL("make", "model"),
+        YEAR("year"),
+        MILEAGE("mileage"),
+        PRICE_PER_DAY("price_per_day");
+
+        private final String[] columns;
+
+        SortField(String... columns) {
+            this.columns = columns;
+        }
+
+        String[] getColumns() {
+            return columns;
+        }
+    }
+
+    private String make;
+    private String model;
+    private Double maxMileage;
+    private Double maxPricePerDay;
+    private Integer maxYear;
+    private Date availableFrom;
+    private Date availableTo;
+    private SortField sortField = SortField.ID;
+    private boolean descending;
+    private int limit;
+    private int offset;
+
+    public String getMake() { return make; }
+
+    /**
+     * Restricts results to one make.
+     *
+     * @param make the make, or null for any make
+     */
+    public void setMake(String make) { this.make = make; }
+
+    public String getModel() { return model; }
+
+    /**
+     * Restricts results to one model.
+     *
+     * @param model the model, or null for any model
+     */
+    public void setModel(String model) { this.model = model; }
+
+    public Double getMaxMileage() { return maxMileage; }
+
+    /**
+     * Restricts results to vehicles with at most this mileage.
+     *
+     * @param maxMileage the highest mileage, or null for no limit
+     */
+    public void setMaxMileage(Double maxMileage) { this.maxMileage = maxMileage; }
+
+    public Double getMaxPricePerDay() { return maxPricePerDay; }
+
+    /**
+     * Restricts results to vehicles that cost at most this much per day.
+     *
+     * @param maxPricePerDay the highest daily price, or null for no limit
+     */
+    public void setMaxPricePerDay(Double maxPricePerDay) { this.maxPricePerDay = maxPricePerDay; }
+
+    public Integer getMaxYear() { return maxYear; }
+
+    /**
+     * Restricts results to vehicles built in or before this year.
+     *
+     * @param maxYear the latest year, or null for no limit
+     */
+    public void setMaxYear(Integer maxYear) { this.maxYear = maxYear; }
+
+    public Date getAvailableFrom() { return availableFrom; }
+
+    public Date getAvailableTo() { return availableTo; }
+
+    /**
+     * Restricts results to vehicles with no reservation overlapping the given rental period.
+     * As in ReservationService.createReservation, a rental may start on the day another one ends.
+     *
+     * @param from the pickup date, or null to ignore availability
+     * @param to the drop-off date, or null to ignore availability
+     */
+    public void setAvailableBetween(Date from, Date to) {
+        if (from != null && to != null && from.after(to)) {
+            throw new IllegalArgumentException("Pickup date must be before drop-off date");
+        }
+        this.availableFrom = from;
+        this.availableTo = to;
+    }
+
+    public SortField getSortField() { return sortField; }
+
+    /**
+     * Sets the column results are ordered by. Ties are always broken by ID so paging is stable.
+     *
+     * @param sortField the sort column; null sorts by ID
+     */
+    public void setSortField(SortField sortField) { this.sortField = sortField == null ? SortField.ID : sortField; }
+
+    public boolean isDescending() { return descending; }
+
+    public void setDescending(boolean descending) { this.descending = descending; }
+
+    public int getLimit() { return limit; }
+
+    /**
+     * Sets the maximum number of results.
+     *
+     * @param limit the page size; 0 returns every match
+     */
+    public void setLimit(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative.");
+        }
+        this.limit = limit;
+    }
+
+    public int getOffset() { return offset; }
+
+    /**
+     * Sets how many matching rows to skip. Only used together with a limit.
+     *
+     * @param offset the number of rows to skip
+     */
+    public void setOffset(int offset) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset cannot be negative.");
+        }
+        this.offset = offset;
+    }
+}
@@ -1,5 +1,7 @@
 package com.zoomly.main;
 
+import com.zoomly.dao.DatabaseConnection;
+import com.zoomly.util.BackgroundExecutor;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
@@ -37,6 +39,15 @@ public class ZoomlyApp extends Application {
         }
     }
 
+    /**
+     * Stops background work and closes pooled database connections when the application exits.
+     */
+    @Override
+    public void stop() {
+        BackgroundExecutor.shutdown();
+        DatabaseConnection.shutdown();
+    }
+
     /**
      * Main method that launches the JavaFX application.
      *
@@ -14,6 +14,7 @@ public class Reservation {
     private Date pickupDate;
     private Date dropOffDate;
     private double totalCharge;
+    private Vehicle vehicle;
 
     /**
      * Constructs a Reservation object with all fields.
@@ -124,6 +125,24 @@ public class Reservation {
         this.totalCharge = totalCharge;
     }
 
+    /**
+     * Returns the reserved vehicle, when it was loaded together with the reservation.
+     *
+     * @return the vehicle, or null if it was not loaded or no longer exists
+     */
+    public Vehicle getVehicle() {
+        return vehicle;
+    }
+
+    /**
+     * Sets the reserved vehicle.
+     *
+     * @param vehicle the vehicle
+     */
+    public void setVehicle(Vehicle vehicle) {
+        this.vehicle = vehicle;
+    }
+
     /**
      * Returns a string representation of the reservation.
      *
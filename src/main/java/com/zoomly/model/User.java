@@ -4,14 +4,30 @@ import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleStringProperty;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * User.java
  * Model class representing a user in the Zoomly application.
  * Contains user attributes and methods for managing user data.
+ *
+ * The user remembers which fields have been changed through its setters since it was loaded
+ * or last saved, so only those columns need to be written back. A field set back to its
+ * original value is no longer considered changed.
  */
 public class User {
+    /**
+     * The fields of a user that can be changed after it is created.
+     */
+    public enum Field {
+        FIRST_NAME, LAST_NAME, EMAIL, PASSWORD, ACCOUNT_TYPE
+    }
+
     private final SimpleIntegerProperty id;
     private final SimpleStringProperty firstName;
     private final SimpleStringProperty lastName;
@@ -19,6 +35,7 @@ public class User {
     private final SimpleStringProperty password;
     private final SimpleStringProperty accountType;
     private List<Reservation> reservations;
+    private final Map<Field, String> originalValues = new EnumMap<>(Field.class);
 
     /**
      * Constructs a new User with default ID.
@@ -95,6 +112,7 @@ public class User {
      * @param firstName first name to set
      */
     public void setFirstName(String firstName) {
+        trackChange(Field.FIRST_NAME, this.firstName.get(), firstName);
         this.firstName.set(firstName);
     }
 
@@ -122,6 +140,7 @@ public class User {
      * @param lastName last name to set
      */
     public void setLastName(String lastName) {
+        trackChange(Field.LAST_NAME, this.lastName.get(), lastName);
         this.lastName.set(lastName);
     }
 
@@ -149,6 +168,7 @@ public class User {
      * @param email email to set
      */
     public void setEmail(String email) {
+        trackChange(Field.EMAIL, this.email.get(), email);
         this.email.set(email);
     }
 
@@ -176,6 +196,7 @@ public class User {
      * @param password password to set
      */
     public void setPassword(String password) {
+        trackChange(Field.PASSWORD, this.password.get(), password);
         this.password.set(password);
     }
 
@@ -203,9 +224,48 @@ public class User {
      * @param accountType account type to set
      */
     public void setAccountType(String accountType) {
+        trackChange(Field.ACCOUNT_TYPE, this.accountType.get(), accountType);
         this.accountType.set(accountType);
     }
 
+    /**
+     * Returns the fields changed since the user was loaded or last saved.
+     *
+     * @return the changed fields
+     */
+    public Set<Field> getChangedFields() {
+        return Collections.unmodifiableSet(originalValues.keySet());
+    }
+
+    /**
+     * Checks whether any field has changed since the user was loaded or last saved.
+     *
+     * @return true if there are unsaved changes
+     */
+    public boolean hasChanges() {
+        return !originalValues.isEmpty();
+    }
+
+    /**
+     * Marks the current field values as saved.
+     */
+    public void markSaved() {
+        originalValues.clear();
+    }
+
+    /**
+     * Records a field's value before its first change, and forgets it when the field is set back.
+     */
+    private void trackChange(Field field, String oldValue, String newValue) {
+        if (!originalValues.containsKey(field)) {
+            if (!Objects.equals(oldValue, newValue)) {
+                originalValues.put(field, oldValue);
+            }
+        } else if (Objects.equals(originalValues.get(field), newValue)) {
+            originalValues.remove(field);
+        }
+    }
+
     /**
      * Returns the list of reservations associated with the user.
      *
@@ -0,0 +1,99 @@
+package com.zoomly.model;
+
+/**
+ * VehicleSummary.java
+ * Model class holding the vehicle fields shown in listings: the browse cards and the make and
+ * model filters. It leaves out the VIN and the description, which can be long, so large
+ * catalogs are cheaper to load and keep in memory. The full Vehicle is loaded by ID when a
+ * single vehicle is opened or booked.
+ */
+public class VehicleSummary {
+    private final int id;
+    private final String make;
+    private final String model;
+    private final int year;
+    private final double mileage;
+    private final double pricePerDay;
+    private final String imagePath;
+
+    /**
+     * Constructs a new VehicleSummary object.
+     *
+     * @param id unique vehicle ID
+     * @param make vehicle make
+     * @param model vehicle model
+     * @param year vehicle manufacture year
+     * @param mileage current mileage
+     * @param pricePerDay rental price per day
+     * @param imagePath image file path
+     */
+    public VehicleSummary(int id, String make, String model, int year, double mileage, double pricePerDay, String imagePath) {
+        this.id = id;
+        this.make = make;
+        this.model = model;
+        this.year = year;
+        this.mileage = mileage;
+        this.pricePerDay = pricePerDay;
+        this.imagePath = imagePath;
+    }
+
+    /**
+     * Creates the summary of a full vehicle.
+     *
+     * @param vehicle the vehicle to summarize
+     * @return the vehicle's summary
+     */
+    public static VehicleSummary of(Vehicle vehicle) {
+        return new VehicleSummary(vehicle.getId(), vehicle.getMake(), vehicle.getModel(), vehicle.getYear(),
+                vehicle.getMileage(), vehicle.getPricePerDay(), vehicle.getImagePath());
+    }
+
+    /**
+     * Returns the vehicle ID.
+     *
+     * @return vehicle ID
+     */
+    public int getId() { return id; }
+
+    /**
+     * Returns the vehicle make.
+     *
+     * @return make
+     */
+    public String getMake() { return make; }
+
+    /**
+     * Returns the vehicle model.
+     *
+     * @return model
+     */
+    public String getModel() { return model; }
+
+    /**
+     * Returns the vehicle year.
+     *
+     * @return year
+     */
+    public int getYear() { return year; }
+
+    /**
+     * Returns the vehicle mileage.
+     *
+     * @return mileage
+     */
+    public double getMileage() { return mileage; }
+
+    /**
+     * Returns the rental price per day.
+     *
+     * @return price per day
+     */
+    public double getPricePerDay() { return pricePerDay; }
+
+    /**
+     * Returns the image path of the vehicle.
+     *
+     * @return image path
+     */
+    public String getImagePath() { return imagePath; }
+}
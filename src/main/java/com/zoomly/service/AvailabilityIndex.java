@@ -0,0 +1,337 @@
+package com.zoomly.service;
+
+import com.zoomly.dao.ReservationDao;
+import com.zoomly.model.Reservation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * AvailabilityIndex.java
+ * In-memory index of each vehicle's booked date ranges, used to answer overlap checks
+ * without loading and scanning the vehicle's whole reservation history.
+ *
+ * Bookings are half-open ranges of epoch days, from the pickup day up to but not including the
+ * drop-off day, which is the database's conflict rule: a vehicle may be picked up on the day it
+ * is dropped off. A vehicle's bookings are normally disjoint, so they are kept in a TreeMap
+ * ordered by pickup day and an overlap query only visits the bookings next to the query range,
+ * which is O(log n + k). Bookings that overlap another booking of the same vehicle (possible in
+ * data written before conflicts were enforced) are kept in a separate list and scanned linearly.
+ *
+ * A vehicle's bookings are loaded from the database on first use and reloaded once they are
+ * older than the TTL, so bookings made by other clients are picked up. The database remains
+ * the final arbiter: ReservationService still checks it before writing.
+ *
+ * Each vehicle's bookings are guarded by their own lock, so checks on different vehicles never
+ * wait for each other. Bookings are loaded from the database without holding any lock; a load
+ * is only published if the vehicle's bookings were not changed or invalidated while it ran.
+ * Invalidating a vehicle removes its entry, so deleted vehicles do not stay in memory.
+ */
+public class AvailabilityIndex {
+    private static final long DEFAULT_TTL_MILLIS = 60 * 1000;
+
+    private final ReservationDao reservationDao;
+    private final Map<Integer, VehicleEntry> vehicles = new ConcurrentHashMap<>();
+    private volatile long ttlMillis = DEFAULT_TTL_MILLIS;
+
+    /**
+     * Creates an empty index that loads bookings through the given DAO.
+     *
+     * @param reservationDao the DAO used to load a vehicle's reservations
+     */
+    public AvailabilityIndex(ReservationDao reservationDao) {
+        this.reservationDao = reservationDao;
+    }
+
+    /**
+     * Sets how long a vehicle's loaded bookings are trusted before they are reloaded.
+     *
+     * @param ttlMillis the time to live in milliseconds; 0 reloads on every check
+     */
+    public void setTtlMillis(long ttlMillis) {
+        this.ttlMillis = Math.max(0, ttlMillis);
+    }
+
+    /**
+     * Returns the reservations of a vehicle that overlap the range from fromDay up to but not
+     * including toDay: those picked up before toDay and dropped off after fromDay.
+     *
+     * @param vehicleId the vehicle ID
+     * @param fromDay the pickup day of the range, as an epoch day
+     * @param toDay the drop-off day of the range, as an epoch day
+     * @param excludeReservationId a reservation to ignore, such as the one being edited
+     * @return the overlapping reservations
+     */
+    public List<Reservation> findOverlaps(int vehicleId, long fromDay, long toDay, int excludeReservationId) {
+        return withBookings(vehicleId, bookings -> {
+            List<Reservation> overlaps = new ArrayList<>();
+            scanOverlaps(bookings, fromDay, toDay, excludeReservationId, overlaps);
+            return overlaps;
+        });
+    }
+
+    /**
+     * Checks whether any reservation of a vehicle overlaps the range, with the same rule as
+     * findOverlaps. Stops at the first overlap and builds no list, so the common no-conflict
+     * case allocates nothing.
+     *
+     * @param vehicleId the vehicle ID
+     * @param fromDay the pickup day of the range, as an epoch day
+     * @param toDay the drop-off day of the range, as an epoch day
+     * @param excludeReservationId a reservation to ignore, such as the one being edited
+     * @return true if at least one reservation overlaps
+     */
+    public boolean hasOverlap(int vehicleId, long fromDay, long toDay, int excludeReservationId) {
+        return withBookings(vehicleId, bookings -> scanOverlaps(bookings, fromDay, toDay, excludeReservationId, null));
+    }
+
+    /**
+     * Adds or replaces a reservation after it has been written to the database.
+     * Vehicles that have not been loaded yet are left alone; they load the reservation with the rest.
+     *
+     * @param reservation the reservation as stored
+     */
+    public void put(Reservation reservation) {
+        VehicleEntry entry = vehicles.get(reservation.getVehicleId());
+        if (entry == null) {
+            return;
+        }
+        synchronized (entry) {
+            entry.version++;
+            if (entry.bookings != null) {
+                entry.bookings.remove(reservation.getId());
+                if (hasDates(reservation)) {
+                    entry.bookings.add(new Booking(reservation));
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes a reservation after it has been cancelled.
+     *
+     * @param vehicleId the ID of the reservation's vehicle
+     * @param reservationId the reservation ID
+     */
+    public void remove(int vehicleId, int reservationId) {
+        VehicleEntry entry = vehicles.get(vehicleId);
+        if (entry == null) {
+            return;
+        }
+        synchronized (entry) {
+            entry.version++;
+            if (entry.bookings != null) {
+                entry.bookings.remove(reservationId);
+            }
+        }
+    }
+
+    /**
+     * Drops a vehicle's bookings so the next check reloads them from the database.
+     * A load still in flight for the vehicle is not published.
+     *
+     * @param vehicleId the vehicle ID
+     */
+    public void invalidate(int vehicleId) {
+        VehicleEntry entry = vehicles.remove(vehicleId);
+        if (entry != null) {
+            synchronized (entry) {
+                entry.version++;
+                entry.bookings = null;
+            }
+        }
+    }
+
+    /**
+     * Drops every vehicle's bookings.
+     */
+    public void clear() {
+        for (int vehicleId : vehicles.keySet()) {
+            invalidate(vehicleId);
+        }
+    }
+
+    /**
+     * Returns how many of a loaded vehicle's bookings are kept in pickup-day order, for tests.
+     *
+     * @param vehicleId the vehicle ID
+     * @return the number of ordered bookings; 0 if the vehicle is not loaded
+     */
+    int orderedBookingCount(int vehicleId) {
+        VehicleEntry entry = vehicles.get(vehicleId);
+        if (entry == null) {
+            return 0;
+        }
+        synchronized (entry) {
+            return entry.bookings == null ? 0 : entry.bookings.byStart.size();
+        }
+    }
+
+    /**
+     * Returns how many of a loaded vehicle's bookings overlap another and are scanned linearly, for tests.
+     *
+     * @param vehicleId the vehicle ID
+     * @return the number of overlapping bookings; 0 if the vehicle is not loaded
+     */
+    int overlappingBookingCount(int vehicleId) {
+        VehicleEntry entry = vehicles.get(vehicleId);
+        if (entry == null) {
+            return 0;
+        }
+        synchronized (entry) {
+            return entry.bookings == null ? 0 : entry.bookings.overlapping.size();
+        }
+    }
+
+    /**
+     * Runs a query against a vehicle's bookings while holding the vehicle's lock, loading the
+     * bookings first if they are missing or older than the TTL.
+     *
+     * The load runs without any lock held, so a slow query never blocks checks on other vehicles
+     * or on this one. It is published only if nothing changed the vehicle's bookings meanwhile;
+     * otherwise it still answers this query, being at least as fresh as what is cached, and the
+     * next check loads again.
+     *
+     * @param vehicleId the vehicle ID
+     * @param query the query to run on the bookings
+     * @return the query's result
+     */
+    private <T> T withBookings(int vehicleId, Function<VehicleBookings, T> query) {
+        VehicleEntry entry = vehicles.computeIfAbsent(vehicleId, id -> new VehicleEntry());
+        long version;
+        synchronized (entry) {
+            if (entry.bookings != null && System.currentTimeMillis() - entry.bookings.loadedAt < ttlMillis) {
+                return query.apply(entry.bookings);
+            }
+            version = entry.version;
+        }
+
+        VehicleBookings loaded = new VehicleBookings();
+        for (Reservation reservation : reservationDao.getReservationsByVehicleId(vehicleId)) {
+            if (hasDates(reservation)) {
+                loaded.add(new Booking(reservation));
+            }
+        }
+
+        synchronized (entry) {
+            if (entry.version == version) {
+                entry.bookings = loaded;
+            }
+            return query.apply(loaded);
+        }
+    }
+
+    /**
+     * Reservations with a missing pickup or drop-off date cannot block any dates.
+     */
+    private boolean hasDates(Reservation reservation) {
+        return reservation.getPickupDate() != null && reservation.getDropOffDate() != null;
+    }
+
+    /**
+     * Visits the bookings that overlap the days, skipping the excluded reservation.
+     *
+     * @param overlaps receives every overlapping reservation; null to stop at the first one
+     * @return true if at least one booking overlaps
+     */
+    private boolean scanOverlaps(VehicleBookings bookings, long fromDay, long toDay, int excludeReservationId,
+                                 List<Reservation> overlaps) {
+        boolean found = false;
+
+        // Disjoint bookings end in the same order they start, so walking back from the last
+        // booking that starts before toDay can stop at the first one that ends by fromDay.
+        for (Booking booking : bookings.byStart.headMap(toDay, false).descendingMap().values()) {
+            if (booking.endDay <= fromDay) {
+                break;
+            }
+            if (booking.reservation.getId() != excludeReservationId) {
+                if (overlaps == null) {
+                    return true;
+                }
+                overlaps.add(booking.reservation);
+                found = true;
+            }
+        }
+        for (Booking booking : bookings.overlapping) {
+            if (booking.overlaps(fromDay, toDay) && booking.reservation.getId() != excludeReservationId) {
+                if (overlaps == null) {
+                    return true;
+                }
+                overlaps.add(booking.reservation);
+                found = true;
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * A reservation together with its pickup and drop-off epoch days; the drop-off day is not booked.
+     */
+    private static class Booking {
+        private final Reservation reservation;
+        private final long startDay;
+        private final long endDay;
+
+        Booking(Reservation reservation) {
+            this.reservation = new Reservation(reservation.getId(), reservation.getUserId(), reservation.getVehicleId(),
+                    reservation.getPickupDate(), reservation.getDropOffDate(), reservation.getTotalCharge());
+            this.startDay = reservation.getPickupDate().toLocalDate().toEpochDay();
+            this.endDay = reservation.getDropOffDate().toLocalDate().toEpochDay();
+        }
+
+        boolean overlaps(long fromDay, long toDay) {
+            return startDay < toDay && endDay > fromDay;
+        }
+    }
+
+    /**
+     * A vehicle's slot in the index. Its monitor guards the bookings; version counts the changes
+     * made to them, so a load that started before a change is not published.
+     */
+    private static class VehicleEntry {
+        private VehicleBookings bookings;
+        private long version;
+    }
+
+    /**
+     * One vehicle's bookings: disjoint bookings ordered by pickup day, plus any that overlap them.
+     */
+    private static class VehicleBookings {
+        private final NavigableMap<Long, Booking> byStart = new TreeMap<>();
+        private final List<Booking> overlapping = new ArrayList<>();
+        private final Map<Integer, Booking> byReservationId = new HashMap<>();
+        private final long loadedAt = System.currentTimeMillis();
+
+        void add(Booking booking) {
+            byReservationId.put(booking.reservation.getId(), booking);
+
+            // Only the last booking starting before this one ends can reach into it, and a
+            // booking ending on the day this one starts does not.
+            Map.Entry<Long, Booking> before = byStart.lowerEntry(booking.endDay);
+            if (booking.endDay < booking.startDay || byStart.containsKey(booking.startDay)
+                    || (before != null && before.getValue().endDay > booking.startDay)) {
+                overlapping.add(booking);
+            } else {
+                byStart.put(booking.startDay, booking);
+            }
+        }
+
+        boolean remove(int reservationId) {
+            Booking booking = byReservationId.remove(reservationId);
+            if (booking == null) {
+                return false;
+            }
+            if (!byStart.remove(booking.startDay, booking)) {
+                overlapping.remove(booking);
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.zoomly.service;
+
+/**
+ * CacheStats.java
+ * An immutable snapshot of a service-level cache's hit, miss and load statistics.
+ */
+public class CacheStats {
+    private final long hits;
+    private final long misses;
+    private final long loads;
+    private final long totalLoadNanos;
+    private final long lastLoadNanos;
+    private final int size;
+
+    /**
+     * Constructs a new snapshot.
+     *
+     * @param hits requests served from the cache
+     * @param misses requests that had to go to the database
+     * @param loads number of times the cache was (re)loaded from the database
+     * @param totalLoadNanos total time spent loading
+     * @param lastLoadNanos time the most recent load took
+     * @param size number of entries currently cached
+     */
+    public CacheStats(long hits, long misses, long loads, long totalLoadNanos, long lastLoadNanos, int size) {
+        this.hits = hits;
+        this.misses = misses;
+        this.loads = loads;
+        this.totalLoadNanos = totalLoadNanos;
+        this.lastLoadNanos = lastLoadNanos;
+        this.size = size;
+    }
+
+    public long getHits() { return hits; }
+
+    public long getMisses() { return misses; }
+
+    public long getLoads() { return loads; }
+
+    public int getSize() { return size; }
+
+    /**
+     * Returns the fraction of requests served from the cache.
+     *
+     * @return the hit rate between 0 and 1
+     */
+    public double getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : hits / (double) requests;
+    }
+
+    /**
+     * Returns the average time a load took.
+     *
+     * @return the average load time in milliseconds
+     */
+    public double getAverageLoadMillis() {
+        return loads == 0 ? 0.0 : totalLoadNanos / (double) loads / 1_000_000.0;
+    }
+
+    /**
+     * Returns the time the most recent load took.
+     *
+     * @return the last load time in milliseconds
+     */
+    public double getLastLoadMillis() {
+        return lastLoadNanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CacheStats{hits=%d, misses=%d, hitRate=%.2f, loads=%d, avgLoad=%.3fms, lastLoad=%.3fms, size=%d}",
+                hits, misses, getHitRate(), loads, getAverageLoadMillis(), getLastLoadMillis(), size);
+    }
+}
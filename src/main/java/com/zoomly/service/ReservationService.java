@@ -1,6 +1,7 @@
 package com.zoomly.service;
 
 import com.zoomly.dao.ReservationDao;
+import com.zoomly.dao.UnitOfWork;
 import com.zoomly.dao.VehicleDao;
 import com.zoomly.model.Reservation;
 import com.zoomly.model.Vehicle;
@@ -9,19 +10,40 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.sql.Date;
 import java.sql.SQLException;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * ReservationService.java
  * Service class for managing reservations.
  * Provides methods to create, update, cancel, and validate reservations,
  * as well as checking for conflicts with existing reservations.
+ *
+ * Conflict checks are answered by an AvailabilityIndex of each vehicle's booked dates.
+ * The database stays the final arbiter both ways: a conflict the index reports is confirmed
+ * with the database before the booking is refused, and the vehicle's index entry is dropped
+ * if the database disagrees. Before a reservation is written, the database is asked once more
+ * for overlapping reservations, in case the index missed one.
+ *
+ * Writes that book a vehicle hold one of a fixed set of striped locks, picked by vehicle ID,
+ * from the index check until the index is updated, so bookings of the same vehicle in this
+ * process run one at a time while bookings of most other vehicles run in parallel. The database
+ * check and write run in one transaction that locks the vehicle's row, which also keeps
+ * other clients from booking the same dates in between.
+ *
+ * Each write runs its lookups, conflict checks and update in one UnitOfWork, so it uses a
+ * single connection and commits once. The striped lock is taken before the unit begins, so
+ * callers waiting for a busy vehicle do not hold a pooled connection while they wait.
  */
 public class ReservationService {
-    private static ReservationService instance;
+    private static final int VEHICLE_LOCK_STRIPES = 64;
+
     private final ReservationDao reservationDao;
     private final VehicleDao vehicleDao;
+    private final AvailabilityIndex availabilityIndex;
+    private final ReentrantLock[] vehicleLocks = new ReentrantLock[VEHICLE_LOCK_STRIPES];
 
     /**
      * Private constructor to enforce singleton pattern.
@@ -29,6 +51,10 @@ public class ReservationService {
     private ReservationService() {
         this.reservationDao = new ReservationDao();
         this.vehicleDao = new VehicleDao();
+        this.availabilityIndex = new AvailabilityIndex(reservationDao);
+        for (int i = 0; i < vehicleLocks.length; i++) {
+            vehicleLocks[i] = new ReentrantLock();
+        }
     }
 
     /**
@@ -37,10 +63,14 @@ public class ReservationService {
      * @return ReservationService instance
      */
     public static ReservationService getInstance() {
-        if (instance == null) {
-            instance = new ReservationService();
-        }
-        return instance;
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Creates the instance on first use; class initialization makes that thread-safe.
+     */
+    private static class Holder {
+        private static final ReservationService INSTANCE = new ReservationService();
     }
 
     /**
@@ -52,6 +82,17 @@ public class ReservationService {
         return reservationDao.getAllReservations();
     }
 
+    /**
+     * Returns one page of reservations ordered by ID.
+     *
+     * @param afterId ID of the last reservation already shown; 0 for the first page
+     * @param pageSize maximum number of reservations to return
+     * @return the next reservations in ID order
+     */
+    public List<Reservation> getReservationsPage(int afterId, int pageSize) {
+        return reservationDao.getReservationsPage(afterId, pageSize);
+    }
+
     /**
      * Returns all reservations made by a specific user.
      *
@@ -62,6 +103,16 @@ public class ReservationService {
         return reservationDao.getReservationsByUserId(userId);
     }
 
+    /**
+     * Retrieves all reservations for a given user with their vehicles loaded in the same query.
+     *
+     * @param userId ID of the user
+     * @return list of reservations; a reservation's vehicle is null if the vehicle no longer exists
+     */
+    public List<Reservation> getUserReservationsWithVehicles(int userId) {
+        return reservationDao.getReservationsWithVehiclesByUserId(userId);
+    }
+
     /**
      * Retrieves a reservation by its ID.
      *
@@ -79,12 +130,23 @@ public class ReservationService {
      */
     public void cancelReservation(int id) {
         try {
+            Optional<Reservation> reservation = reservationDao.getReservationById(id);
             reservationDao.deleteReservation(id);
+            reservation.ifPresent(cancelled -> availabilityIndex.remove(cancelled.getVehicleId(), id));
         } catch (SQLException e) {
             e.printStackTrace();
         }
     }
 
+    /**
+     * Returns the index used to answer reservation conflict checks.
+     *
+     * @return the availability index
+     */
+    public AvailabilityIndex getAvailabilityIndex() {
+        return availabilityIndex;
+    }
+
     /**
      * Rounds a value to two decimal places.
      *
@@ -97,8 +159,88 @@ public class ReservationService {
         return bd.doubleValue();
     }
 
+    /**
+     * Converts a date to the epoch day used by the availability index.
+     *
+     * @param date the date
+     * @return days since 1970-01-01
+     */
+    private long toEpochDay(java.util.Date date) {
+        return new Date(date.getTime()).toLocalDate().toEpochDay();
+    }
+
+    /**
+     * Lists the date ranges of conflicting reservations, one per line.
+     *
+     * @param conflicts the conflicting reservations
+     * @return the formatted date ranges
+     */
+    private String describeConflicts(List<Reservation> conflicts) {
+        StringBuilder conflictInfo = new StringBuilder();
+        for (Reservation conflict : conflicts) {
+            conflictInfo.append("• From ")
+                    .append(conflict.getPickupDate())
+                    .append(" to ")
+                    .append(conflict.getDropOffDate())
+                    .append("\n");
+        }
+        return conflictInfo.toString().trim();
+    }
+
+    /**
+     * Returns the lock that serializes bookings of a vehicle within this process.
+     * Vehicles share locks by stripe, so the number of locks stays fixed however many vehicles there are.
+     *
+     * @param vehicleId vehicle ID
+     * @return the vehicle's lock
+     */
+    private ReentrantLock lockFor(int vehicleId) {
+        return vehicleLocks[Math.floorMod(Integer.hashCode(vehicleId), vehicleLocks.length)];
+    }
+
+    /**
+     * Finds the reservations overlapping the dates, using the same rule as the database: a
+     * reservation may start on the day another one ends. Overlaps found in the index are
+     * confirmed with the database, since the index can hold reservations that were deleted
+     * elsewhere (by another client, or by a cascading user or vehicle delete) until its TTL runs
+     * out. If the database finds no conflict, the vehicle's index entry is dropped so it is reloaded.
+     *
+     * @param vehicleId vehicle ID
+     * @param excludeReservationId a reservation to ignore, such as the one being edited; 0 for none
+     * @param pickupDate pickup date
+     * @param dropOffDate drop-off date
+     * @return the conflicting reservations from the index; empty if there are none or the database disagrees
+     * @throws SQLException if the database check fails
+     */
+    private List<Reservation> findConfirmedConflicts(int vehicleId, int excludeReservationId, Date pickupDate,
+                                                     Date dropOffDate) throws SQLException {
+        List<Reservation> conflicts = availabilityIndex.findOverlaps(vehicleId,
+                toEpochDay(pickupDate), toEpochDay(dropOffDate), excludeReservationId);
+        if (!conflicts.isEmpty() && !reservationDao.hasConflict(vehicleId, excludeReservationId, pickupDate, dropOffDate)) {
+            availabilityIndex.invalidate(vehicleId);
+            return Collections.emptyList();
+        }
+        return conflicts;
+    }
+
+    /**
+     * Rejects a write the database refused because of overlapping reservations.
+     * A conflict the index missed means the vehicle's index entry is stale, so it is dropped.
+     *
+     * @param vehicleId vehicle ID
+     * @param conflicts the conflicts the database found
+     * @throws IllegalArgumentException if there are conflicts
+     */
+    private void rejectDatabaseConflicts(int vehicleId, List<Reservation> conflicts) {
+        if (!conflicts.isEmpty()) {
+            availabilityIndex.invalidate(vehicleId);
+            throw new IllegalArgumentException("This vehicle is already reserved for the following dates:\n" + describeConflicts(conflicts));
+        }
+    }
+
     /**
      * Creates a new reservation after validating date order and checking for conflicts.
+     * A reservation may start on the day another one ends.
      *
      * @param userId user ID
      * @param vehicleId vehicle ID
@@ -111,39 +253,35 @@ public class ReservationService {
             throw new IllegalArgumentException("Pickup date must be before drop-off date");
         }
 
-        Vehicle vehicle = vehicleDao.getVehicleById(vehicleId)
-                .orElseThrow(() -> new IllegalArgumentException("Vehicle not found"));
+        Date sqlPickupDate = new Date(pickupDate.getTime());
+        Date sqlDropOffDate = new Date(dropOffDate.getTime());
+        long days = (dropOffDate.getTime() - pickupDate.getTime()) / (1000 * 60 * 60 * 24);
 
-        List<Reservation> conflictingReservations = reservationDao.getConflictingReservations(vehicleId, new Date(pickupDate.getTime()), new Date(dropOffDate.getTime()));
+        ReentrantLock lock = lockFor(vehicleId);
+        lock.lock();
+        try (UnitOfWork unit = UnitOfWork.begin()) {
+            Vehicle vehicle = vehicleDao.getVehicleById(vehicleId)
+                    .orElseThrow(() -> new IllegalArgumentException("Vehicle not found"));
+            double totalCharge = roundToTwoDecimals(days * vehicle.getPricePerDay());
 
-        if (!conflictingReservations.isEmpty()) {
-            StringBuilder conflictInfo = new StringBuilder("This vehicle is already reserved for the following dates:\n");
-            for (Reservation conflictingReservation : conflictingReservations) {
-                conflictInfo.append("• From ")
-                        .append(conflictingReservation.getPickupDate().toString())
-                        .append(" to ")
-                        .append(conflictingReservation.getDropOffDate().toString())
-                        .append("\n");
+            List<Reservation> conflictingReservations = findConfirmedConflicts(vehicleId, 0, sqlPickupDate, sqlDropOffDate);
+            if (!conflictingReservations.isEmpty()) {
+                throw new IllegalArgumentException("This vehicle is already reserved for the following dates:\n" + describeConflicts(conflictingReservations));
             }
-            throw new IllegalArgumentException(conflictInfo.toString().trim());
-        }
-
-        long days = (dropOffDate.getTime() - pickupDate.getTime()) / (1000 * 60 * 60 * 24);
-        double totalCharge = roundToTwoDecimals(days * vehicle.getPricePerDay());
-
-        Date sqlPickupDate = new Date(pickupDate.getTime());
-        Date sqlDropOffDate = new Date(dropOffDate.getTime());
 
-        Reservation reservation = new Reservation(0, userId, vehicleId, sqlPickupDate, sqlDropOffDate, totalCharge);
+            Reservation reservation = new Reservation(0, userId, vehicleId, sqlPickupDate, sqlDropOffDate, totalCharge);
+            List<Reservation> databaseConflicts = reservationDao.addReservationIfAvailable(reservation);
+            rejectDatabaseConflicts(vehicleId, databaseConflicts);
+            unit.commit();
+            availabilityIndex.put(reservation);
 
-        try {
-            reservationDao.addReservation(userId, vehicleId, sqlPickupDate, sqlDropOffDate, totalCharge);
+            return reservation;
         } catch (SQLException e) {
             e.printStackTrace();
             throw new IllegalArgumentException("Failed to add reservation due to database error");
+        } finally {
+            lock.unlock();
         }
-
-        return reservation;
     }
 
     /**
@@ -153,26 +291,30 @@ public class ReservationService {
      * @return updated reservation
      */
     public Reservation updateReservation(Reservation reservation) {
-        Optional<Reservation> existingReservation = reservationDao.getReservationById(reservation.getId());
-        if (!existingReservation.isPresent()) {
-            throw new IllegalArgumentException("Reservation not found");
-        }
-
-        List<Reservation> vehicleReservations = reservationDao.getReservationsByVehicleId(reservation.getVehicleId());
-        boolean hasConflict = vehicleReservations.stream()
-                .filter(r -> r.getId() != reservation.getId())
-                .anyMatch(r -> !(reservation.getDropOffDate().before(r.getPickupDate()) ||
-                        reservation.getPickupDate().after(r.getDropOffDate())));
+        int vehicleId = reservation.getVehicleId();
+        ReentrantLock lock = lockFor(vehicleId);
+        lock.lock();
+        try (UnitOfWork unit = UnitOfWork.begin()) {
+            Optional<Reservation> existingReservation = reservationDao.getReservationById(reservation.getId());
+            if (!existingReservation.isPresent()) {
+                throw new IllegalArgumentException("Reservation not found");
+            }
 
-        if (hasConflict) {
-            throw new IllegalArgumentException("This vehicle is already reserved for the selected dates.");
-        }
+            List<Reservation> conflictingReservations = findConfirmedConflicts(vehicleId, reservation.getId(),
+                    reservation.getPickupDate(), reservation.getDropOffDate());
+            if (!conflictingReservations.isEmpty()) {
+                throw new IllegalArgumentException("This vehicle is already reserved for the selected dates.");
+            }
 
-        try {
-            reservationDao.updateReservation(reservation.getId(), reservation.getPickupDate(),
-                    reservation.getDropOffDate(), reservation.getTotalCharge());
+            List<Reservation> databaseConflicts = reservationDao.updateReservationIfAvailable(reservation.getId(), vehicleId,
+                    reservation.getPickupDate(), reservation.getDropOffDate(), reservation.getTotalCharge());
+            rejectDatabaseConflicts(vehicleId, databaseConflicts);
+            unit.commit();
+            availabilityIndex.put(reservation);
         } catch (SQLException e) {
             e.printStackTrace();
+        } finally {
+            lock.unlock();
         }
 
         return reservation;
@@ -205,26 +347,37 @@ public class ReservationService {
         Reservation reservation = reservationOptional.get();
         int vehicleId = reservation.getVehicleId();
 
-        List<Reservation> conflictingReservations = reservationDao.getReservationsByVehicleId(vehicleId);
-        for (Reservation conflictingReservation : conflictingReservations) {
-            if (conflictingReservation.getId() != reservationId &&
-                    !(newDropOffDate.before(conflictingReservation.getPickupDate()) || newPickupDate.after(conflictingReservation.getDropOffDate()))) {
-
+        ReentrantLock lock = lockFor(vehicleId);
+        lock.lock();
+        try (UnitOfWork unit = UnitOfWork.begin()) {
+            List<Reservation> conflictingReservations = findConfirmedConflicts(vehicleId, reservationId,
+                    newPickupDate, newDropOffDate);
+            if (!conflictingReservations.isEmpty()) {
+                Reservation conflictingReservation = conflictingReservations.get(0);
                 String conflictingDateRange = "Pickup: " + conflictingReservation.getPickupDate() + " - Drop-off: " + conflictingReservation.getDropOffDate();
                 throw new IllegalArgumentException("This vehicle is already reserved for the selected dates. Conflicting reservation: " + conflictingDateRange);
             }
-        }
 
-        try {
-            reservationDao.updateReservation(reservationId, newPickupDate, newDropOffDate, reservation.getTotalCharge());
+            List<Reservation> databaseConflicts = reservationDao.updateReservationIfAvailable(reservationId, vehicleId,
+                    newPickupDate, newDropOffDate, reservation.getTotalCharge());
+            rejectDatabaseConflicts(vehicleId, databaseConflicts);
+            unit.commit();
+
+            reservation.setPickupDate(newPickupDate);
+            reservation.setDropOffDate(newDropOffDate);
+            availabilityIndex.put(reservation);
         } catch (SQLException e) {
             e.printStackTrace();
             throw new RuntimeException("Error updating reservation dates.", e);
+        } finally {
+            lock.unlock();
         }
     }
 
     /**
      * Validates if a reservation conflicts with existing ones, excluding a specific reservation ID.
+     * A conflict the index reports is confirmed with the database; if the database cannot be
+     * reached, the index's answer is used.
      *
      * @param vehicleId vehicle ID
      * @param pickupDate pickup date
@@ -232,24 +385,17 @@ public class ReservationService {
      * @param excludeReservationId reservation ID to exclude from conflict check
      */
     public void validateReservationConflict(int vehicleId, Date pickupDate, Date dropOffDate, int excludeReservationId) {
-        List<Reservation> vehicleReservations = reservationDao.getReservationsByVehicleId(vehicleId);
-        boolean hasConflict = vehicleReservations.stream()
-                .filter(r -> r.getId() != excludeReservationId)
-                .anyMatch(r -> !(dropOffDate.before(r.getPickupDate()) || pickupDate.after(r.getDropOffDate())));
-
-        if (hasConflict) {
-            StringBuilder conflictInfo = new StringBuilder();
-            for (Reservation r : vehicleReservations) {
-                if (r.getId() != excludeReservationId &&
-                        !(dropOffDate.before(r.getPickupDate()) || pickupDate.after(r.getDropOffDate()))) {
-                    conflictInfo.append("• From ")
-                            .append(r.getPickupDate())
-                            .append(" to ")
-                            .append(r.getDropOffDate())
-                            .append("\n");
-                }
-            }
-            throw new IllegalArgumentException("This vehicle is already reserved for the dates:\n" + conflictInfo.toString().trim());
+        List<Reservation> conflicts;
+        try {
+            conflicts = findConfirmedConflicts(vehicleId, excludeReservationId, pickupDate, dropOffDate);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            conflicts = availabilityIndex.findOverlaps(vehicleId,
+                    toEpochDay(pickupDate), toEpochDay(dropOffDate), excludeReservationId);
+        }
+
+        if (!conflicts.isEmpty()) {
+            throw new IllegalArgumentException("This vehicle is already reserved for the dates:\n" + describeConflicts(conflicts));
         }
     }
 }
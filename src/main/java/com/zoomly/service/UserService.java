@@ -7,6 +7,7 @@ import com.zoomly.util.UserValidator;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * UserService.java
@@ -14,7 +15,6 @@ import java.util.Optional;
  * user registration, authentication, and account management.
  */
 public class UserService {
-    private static UserService instance;
     private final UserDao userDao;
     private User currentUser;
 
@@ -28,15 +28,18 @@ public class UserService {
 
     /**
      * Returns the singleton instance of UserService.
-     * If the instance doesn't exist, creates it.
      *
      * @return The singleton instance of UserService.
      */
     public static UserService getInstance() {
-        if (instance == null) {
-            instance = new UserService();
-        }
-        return instance;
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Creates the instance on first use; class initialization makes that thread-safe.
+     */
+    private static class Holder {
+        private static final UserService INSTANCE = new UserService();
     }
 
     /**
@@ -64,13 +67,16 @@ public class UserService {
      * @param email The email address of the user.
      * @param password The password of the user.
      * @param accountType The type of account the user is creating.
-     * @return The created User object.
+     * @return The created User object, with the ID the database assigned.
+     * @throws UserServiceException if the user could not be added to the database.
      */
     public User registerUser(String firstName, String lastName, String email, String password, String accountType) {
-        User user = new User(firstName, lastName, email, password, accountType);
-        UserValidator.validate(user);
-        userDao.addUser(firstName, lastName, email, password, accountType);
-        return user;
+        UserValidator.validate(new User(firstName, lastName, email, password, accountType));
+        int id = userDao.addUser(firstName, lastName, email, password, accountType);
+        if (id == -1) {
+            throw new UserServiceException("Error registering " + email, null);
+        }
+        return new User(id, firstName, lastName, email, password, accountType);
     }
 
     /**
@@ -107,12 +113,7 @@ public class UserService {
      * @param newEmail The new email address for the user.
      */
     public void updateEmail(int userId, String newEmail) {
-        try {
-            userDao.updateEmail(userId, newEmail);
-            refreshCurrentUser(userId);
-        } catch (SQLException e) {
-            throw new UserServiceException("Error updating email for user ID " + userId, e);
-        }
+        updateFields(userId, user -> user.setEmail(newEmail), "email");
     }
 
     /**
@@ -122,12 +123,7 @@ public class UserService {
      * @param newFirstName The new first name for the user.
      */
     public void updateFirstName(int userId, String newFirstName) {
-        try {
-            userDao.updateFirstName(userId, newFirstName);
-            refreshCurrentUser(userId);
-        } catch (SQLException e) {
-            throw new UserServiceException("Error updating first name for user ID " + userId, e);
-        }
+        updateFields(userId, user -> user.setFirstName(newFirstName), "first name");
     }
 
     /**
@@ -137,12 +133,7 @@ public class UserService {
      * @param newLastName The new last name for the user.
      */
     public void updateLastName(int userId, String newLastName) {
-        try {
-            userDao.updateLastName(userId, newLastName);
-            refreshCurrentUser(userId);
-        } catch (SQLException e) {
-            throw new UserServiceException("Error updating last name for user ID " + userId, e);
-        }
+        updateFields(userId, user -> user.setLastName(newLastName), "last name");
     }
 
     /**
@@ -152,26 +143,18 @@ public class UserService {
      * @param newPassword The new password for the user.
      */
     public void updatePassword(int userId, String newPassword) {
-        try {
-            userDao.updatePassword(userId, newPassword);
-            refreshCurrentUser(userId);
-        } catch (SQLException e) {
-            throw new UserServiceException("Error updating password for user ID " + userId, e);
-        }
+        updateFields(userId, user -> user.setPassword(newPassword), "password");
     }
 
     /**
-     * Updates all user details (email, first name, last name, password, account type) in the database.
+     * Saves the details of a user (email, first name, last name, password, account type) that changed
+     * since it was loaded, in a single UPDATE of just those columns.
      *
      * @param user The User object containing the updated details.
      */
     public void updateUser(User user) {
         try {
-            userDao.updateEmail(user.getId(), user.getEmail());
-            userDao.updateFirstName(user.getId(), user.getFirstName());
-            userDao.updateLastName(user.getId(), user.getLastName());
-            userDao.updatePassword(user.getId(), user.getPassword());
-            userDao.updateAccountType(user.getId(), user.getAccountType());
+            userDao.updateChangedFields(user);
         } catch (SQLException e) {
             throw new UserServiceException("Error updating user ID " + user.getId(), e);
         }
@@ -186,6 +169,8 @@ public class UserService {
     public void deleteUser(int userId) {
         try {
             userDao.deleteUser(userId);
+            // The user's reservations were deleted with them (ON DELETE CASCADE); the index is not keyed by user.
+            ReservationService.getInstance().getAvailabilityIndex().clear();
             if (currentUser != null && currentUser.getId() == userId) {
                 currentUser = null;
             }
@@ -195,19 +180,18 @@ public class UserService {
     }
 
     /**
-     * Checks if a given email is already registered in the database.
+     * Checks if a given email is already registered in the database, ignoring case.
      *
      * @param email The email address to check.
      * @return True if the email is registered, false otherwise.
+     * @throws UserServiceException If the database lookup fails.
      */
     public boolean isEmailRegistered(String email) {
-        List<User> users = getAllUsers();
-        for (User user : users) {
-            if (user.getEmail().equalsIgnoreCase(email)) {
-                return true;
-            }
+        try {
+            return userDao.emailExists(email);
+        } catch (SQLException e) {
+            throw new UserServiceException("Error checking whether " + email + " is registered", e);
         }
-        return false;
     }
 
     /**
@@ -220,11 +204,41 @@ public class UserService {
     }
 
     /**
-     * Refreshes the currentUser by fetching the user from the database.
+     * Returns one page of users ordered by ID.
+     *
+     * @param afterId The ID of the last user already shown; 0 for the first page.
+     * @param pageSize The maximum number of users to return.
+     * @return The next users in ID order.
+     */
+    public List<User> getUsersPage(int afterId, int pageSize) {
+        return userDao.getUsersPage(afterId, pageSize);
+    }
+
+    /**
+     * Applies changes to a user and writes just the changed columns in one UPDATE.
+     * When the user is the current user, the changes are made to a copy that replaces
+     * the current user once it has been saved, so no follow-up SELECT is needed.
      *
-     * @param userId The ID of the user to fetch.
+     * @param userId The ID of the user to update.
+     * @param changes Sets the new values on the user.
+     * @param description What is being updated, for the error message.
      */
-    private void refreshCurrentUser(int userId) {
-        currentUser = userDao.getUserById(userId).orElse(null);
+    private void updateFields(int userId, Consumer<User> changes, String description) {
+        boolean isCurrentUser = currentUser != null && currentUser.getId() == userId;
+        User user = isCurrentUser
+                ? new User(userId, currentUser.getFirstName(), currentUser.getLastName(), currentUser.getEmail(),
+                        currentUser.getPassword(), currentUser.getAccountType())
+                : new User(userId, null, null, null, null, null);
+        changes.accept(user);
+
+        try {
+            userDao.updateChangedFields(user);
+        } catch (SQLException e) {
+            throw new UserServiceException("Error updating " + description + " for user ID " + userId, e);
+        }
+
+        if (isCurrentUser) {
+            currentUser = user;
+        }
     }
 }
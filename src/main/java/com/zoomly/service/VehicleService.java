@@ -1,11 +1,16 @@
 package com.zoomly.service;
 
 import com.zoomly.dao.VehicleDao;
+import com.zoomly.dao.VehicleSearchCriteria;
 import com.zoomly.model.Vehicle;
+import com.zoomly.model.VehicleSummary;
 import com.zoomly.util.VehicleValidator;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -13,11 +18,29 @@ import java.util.Optional;
  * Service class for managing vehicle-related operations.
  * Provides methods for adding, retrieving, updating, and deleting vehicles.
  * Ensures data validation and handles exceptions for vehicle data processing.
+ *
+ * The vehicle catalog is cached in memory after the first getVehicleSummaries() call. It holds
+ * VehicleSummary objects, which leave out the VIN and description, so a large catalog stays small
+ * in memory; the full Vehicle is read from the database when a single vehicle is asked for.
+ * Adds, updates and deletes made through this service update the cache in place;
+ * the whole catalog is reloaded once it is older than the catalog TTL, so edits made
+ * by other clients show up within that time.
  */
 public class VehicleService {
-    private static VehicleService instance;
+    private static final long DEFAULT_CATALOG_TTL_MILLIS = 60 * 1000;
+
     private final VehicleDao vehicleDao;
 
+    private final Map<Integer, VehicleSummary> catalog = new LinkedHashMap<>();
+    private boolean catalogLoaded;
+    private long catalogLoadedAt;
+    private long catalogTtlMillis = DEFAULT_CATALOG_TTL_MILLIS;
+    private long catalogHits;
+    private long catalogMisses;
+    private long catalogLoads;
+    private long totalLoadNanos;
+    private long lastLoadNanos;
+
     /**
      * Private constructor to initialize the VehicleService with a VehicleDao.
      */
@@ -31,10 +54,14 @@ public class VehicleService {
      * @return the singleton instance of the VehicleService.
      */
     public static VehicleService getInstance() {
-        if (instance == null) {
-            instance = new VehicleService();
-        }
-        return instance;
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Creates the instance on first use; class initialization makes that thread-safe.
+     */
+    private static class Holder {
+        private static final VehicleService INSTANCE = new VehicleService();
     }
 
     /**
@@ -48,7 +75,7 @@ public class VehicleService {
      * @param pricePerDay The price per day for renting the vehicle.
      * @param imagePath The image path for the vehicle.
      * @param description A description of the vehicle.
-     * @return The newly added vehicle.
+     * @return The newly added vehicle, with the ID the database assigned.
      * @throws IllegalArgumentException If a vehicle with the same VIN already exists.
      * @throws RuntimeException If there is an error adding the vehicle to the database.
      */
@@ -59,14 +86,20 @@ public class VehicleService {
             throw new IllegalArgumentException("A vehicle with VIN " + vin + " already exists.");
         }
 
-        Vehicle vehicle = new Vehicle(0, vin, make, model, year, mileage, pricePerDay, imagePath, description);
-
+        int id;
         try {
-            vehicleDao.addVehicle(vin, make, model, year, mileage, pricePerDay, imagePath, description);
+            id = vehicleDao.addVehicle(vin, make, model, year, mileage, pricePerDay, imagePath, description);
         } catch (SQLException e) {
             throw new RuntimeException("Failed to add vehicle to the database: " + e.getMessage());
         }
 
+        Vehicle vehicle = new Vehicle(id, vin.trim(), make, model, year, mileage, pricePerDay, imagePath, description);
+        synchronized (this) {
+            if (catalogLoaded) {
+                catalog.put(vehicle.getId(), VehicleSummary.of(vehicle));
+            }
+        }
+
         return vehicle;
     }
 
@@ -81,14 +114,32 @@ public class VehicleService {
     }
 
     /**
-     * Retrieves all vehicles in the system.
+     * Retrieves the summaries of all vehicles in the system, from the catalog cache when it is fresh.
      *
-     * @return A list of all vehicles.
+     * @return A list of all vehicle summaries.
      * @throws RuntimeException If there is an error retrieving vehicles from the database.
      */
-    public List<Vehicle> getAllVehicles() {
+    public synchronized List<VehicleSummary> getVehicleSummaries() {
+        if (isCatalogFresh()) {
+            catalogHits++;
+        } else {
+            catalogMisses++;
+            loadCatalog();
+        }
+        return new ArrayList<>(catalog.values());
+    }
+
+    /**
+     * Retrieves one page of vehicles ordered by ID straight from the database, bypassing the catalog cache.
+     *
+     * @param afterId The ID of the last vehicle already shown; 0 for the first page.
+     * @param pageSize The maximum number of vehicles to return.
+     * @return The next vehicles in ID order.
+     * @throws RuntimeException If there is an error retrieving vehicles from the database.
+     */
+    public List<Vehicle> getVehiclesPage(int afterId, int pageSize) {
         try {
-            return vehicleDao.findAll();
+            return vehicleDao.findPage(afterId, pageSize);
         } catch (SQLException e) {
             System.err.println("Error retrieving vehicles: " + e.getMessage());
             throw new RuntimeException("Failed to retrieve vehicles from the database.", e);
@@ -96,7 +147,24 @@ public class VehicleService {
     }
 
     /**
-     * Retrieves a vehicle by its ID.
+     * Searches vehicles in the database, filtering, sorting and paging there rather than in memory.
+     *
+     * @param criteria The filters, sort order and page to return.
+     * @return The summaries of the matching vehicles.
+     * @throws RuntimeException If there is an error searching the database.
+     */
+    public List<VehicleSummary> searchVehicleSummaries(VehicleSearchCriteria criteria) {
+        try {
+            return vehicleDao.searchSummaries(criteria);
+        } catch (SQLException e) {
+            System.err.println("Error searching vehicles: " + e.getMessage());
+            throw new RuntimeException("Failed to search vehicles in the database.", e);
+        }
+    }
+
+    /**
+     * Retrieves a vehicle with all its details, including the description, by its ID.
+     * The catalog cache only holds summaries, so this always reads the vehicle's row.
      *
      * @param vehicleId The ID of the vehicle to be retrieved.
      * @return An Optional containing the vehicle if found, or an empty Optional if not found.
@@ -110,6 +178,69 @@ public class VehicleService {
         }
     }
 
+    /**
+     * Sets how long the cached catalog is used before it is reloaded from the database.
+     *
+     * @param ttlMillis the time to live in milliseconds; 0 reloads on every request
+     */
+    public synchronized void setCatalogTtlMillis(long ttlMillis) {
+        this.catalogTtlMillis = Math.max(0, ttlMillis);
+    }
+
+    /**
+     * Discards the cached catalog so the next request reloads it.
+     * Used after vehicles are written without going through this service, such as file imports.
+     */
+    public synchronized void invalidateCatalog() {
+        catalog.clear();
+        catalogLoaded = false;
+    }
+
+    /**
+     * Returns the catalog cache's hit, miss and load-time statistics.
+     *
+     * @return the cache statistics
+     */
+    public synchronized CacheStats getCatalogStats() {
+        return new CacheStats(catalogHits, catalogMisses, catalogLoads, totalLoadNanos, lastLoadNanos, catalog.size());
+    }
+
+    /**
+     * Checks whether the cached catalog can be used without reloading.
+     *
+     * @return true if the catalog is loaded and younger than the TTL
+     */
+    private boolean isCatalogFresh() {
+        return catalogLoaded && System.currentTimeMillis() - catalogLoadedAt < catalogTtlMillis;
+    }
+
+    /**
+     * Replaces the cached catalog with the current contents of the vehicles table.
+     *
+     * @throws RuntimeException If there is an error retrieving vehicles from the database.
+     */
+    private void loadCatalog() {
+        long start = System.nanoTime();
+        List<VehicleSummary> vehicles;
+        try {
+            vehicles = vehicleDao.findAllSummaries();
+        } catch (SQLException e) {
+            System.err.println("Error retrieving vehicles: " + e.getMessage());
+            throw new RuntimeException("Failed to retrieve vehicles from the database.", e);
+        }
+
+        catalog.clear();
+        for (VehicleSummary vehicle : vehicles) {
+            catalog.put(vehicle.getId(), vehicle);
+        }
+        catalogLoaded = true;
+        catalogLoadedAt = System.currentTimeMillis();
+
+        lastLoadNanos = System.nanoTime() - start;
+        totalLoadNanos += lastLoadNanos;
+        catalogLoads++;
+    }
+
     /**
      * Updates the details of an existing vehicle.
      *
@@ -130,6 +261,12 @@ public class VehicleService {
         } catch (SQLException e) {
             throw new IllegalArgumentException("Error updating vehicle: " + e.getMessage());
         }
+
+        synchronized (this) {
+            if (catalogLoaded) {
+                catalog.put(id, new VehicleSummary(id, make, model, year, mileage, pricePerDay, imagePath));
+            }
+        }
     }
 
     /**
@@ -139,6 +276,12 @@ public class VehicleService {
      */
     public void deleteVehicle(int id) {
         vehicleDao.deleteVehicle(id);
+
+        synchronized (this) {
+            catalog.remove(id);
+        }
+        // The vehicle's reservations were deleted with it (ON DELETE CASCADE).
+        ReservationService.getInstance().getAvailabilityIndex().invalidate(id);
     }
 
     /**
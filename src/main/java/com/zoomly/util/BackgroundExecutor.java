@@ -0,0 +1,49 @@
+package com.zoomly.util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BackgroundExecutor.java
+ * The shared thread pool controllers use to run database work off the JavaFX application thread.
+ *
+ * Threads are daemons, so a task still waiting on the database never keeps the application from
+ * exiting. The pool is small because every task needs a pooled database connection anyway.
+ */
+public class BackgroundExecutor {
+    private static final int THREAD_COUNT = 4;
+    private static final AtomicInteger threadNumber = new AtomicInteger(1);
+
+    private static ExecutorService executor;
+
+    private BackgroundExecutor() {
+    }
+
+    /**
+     * Runs a task on a background thread. Typically the task is a javafx.concurrent.Task,
+     * whose handlers are then called back on the JavaFX application thread.
+     *
+     * @param task the work to run
+     */
+    public static synchronized void execute(Runnable task) {
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(THREAD_COUNT, runnable -> {
+                Thread thread = new Thread(runnable, "zoomly-background-" + threadNumber.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        executor.execute(task);
+    }
+
+    /**
+     * Stops accepting work and interrupts running tasks. A new pool is created if execute is called again.
+     */
+    public static synchronized void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+}
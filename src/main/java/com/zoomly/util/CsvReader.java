@@ -0,0 +1,403 @@
+package com.zoomly.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * CsvReader.java
+ * A forward-only reader for comma-separated files that maps the file into memory in fixed-size
+ * windows instead of reading it line by line, so memory use stays flat however large the file is.
+ *
+ * Each call to next() finds the field boundaries of one row inside the mapped window without
+ * copying it. Numeric fields are parsed straight from the mapped bytes by getInt and getDouble;
+ * only getString creates a String.
+ *
+ * Fields may be wrapped in double quotes, in which case they can contain commas, line breaks and
+ * doubled quotes (""). Unquoted fields are trimmed. When maxFields is set, the last field runs to
+ * the end of the line, so a free-text last column may contain unquoted commas.
+ */
+public class CsvReader implements Closeable {
+    private static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final int windowSize;
+    private final int maxFields;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private int windowLimit;
+
+    private long rowStart;
+    private long nextRowStart;
+    private long lineNumber;
+    private long nextLineNumber = 1;
+
+    private int fieldCount;
+    private int[] fieldStarts = new int[16];
+    private int[] fieldEnds = new int[16];
+    private boolean[] fieldQuoted = new boolean[16];
+
+    /**
+     * Opens a file for reading with no limit on the number of fields per row.
+     *
+     * @param path the file to read
+     * @throws IOException if the file cannot be opened
+     */
+    public CsvReader(Path path) throws IOException {
+        this(path, 0);
+    }
+
+    /**
+     * Opens a file for reading.
+     *
+     * @param path the file to read
+     * @param maxFields the number of fields per row after which the rest of the line is one field; 0 for no limit
+     * @throws IOException if the file cannot be opened
+     */
+    public CsvReader(Path path, int maxFields) throws IOException {
+        this(path, maxFields, DEFAULT_WINDOW_SIZE);
+    }
+
+    CsvReader(Path path, int maxFields, int windowSize) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.fileSize = channel.size();
+        this.maxFields = maxFields;
+        this.windowSize = windowSize;
+
+        if (fileSize >= 3) {
+            map(0);
+            if ((window.get(0) & 0xFF) == 0xEF && (window.get(1) & 0xFF) == 0xBB && (window.get(2) & 0xFF) == 0xBF) {
+                nextRowStart = 3;
+            }
+        }
+    }
+
+    /**
+     * Advances to the next row.
+     *
+     * @return false once the end of the file has been reached
+     * @throws IOException if the file cannot be mapped or a row is longer than the mapping window
+     */
+    public boolean next() throws IOException {
+        if (nextRowStart >= fileSize) {
+            return false;
+        }
+        rowStart = nextRowStart;
+        lineNumber = nextLineNumber;
+
+        if (window == null || rowStart < windowStart || rowStart >= windowStart + windowLimit) {
+            map(rowStart);
+        }
+        while (!scanRow((int) (rowStart - windowStart))) {
+            if (rowStart == windowStart) {
+                throw new IOException("Row at line " + lineNumber + " is longer than " + windowSize + " bytes.");
+            }
+            map(rowStart);
+        }
+        return true;
+    }
+
+    /**
+     * Maps the window that starts at the given file position.
+     */
+    private void map(long position) throws IOException {
+        windowStart = position;
+        windowLimit = (int) Math.min(windowSize, fileSize - position);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, position, windowLimit);
+    }
+
+    /**
+     * Records the field boundaries of the row starting at the given window offset.
+     *
+     * @return false if the window ends before the row does and more of the file remains
+     */
+    private boolean scanRow(int offset) {
+        boolean moreInFile = windowStart + windowLimit < fileSize;
+        long lines = 0;
+        int pos = offset;
+        fieldCount = 0;
+
+        while (true) {
+            boolean swallowRest = maxFields > 0 && fieldCount == maxFields - 1;
+            int start = pos;
+            boolean quoted = false;
+
+            while (start < windowLimit && isBlank(window.get(start))) {
+                start++;
+            }
+            if (!swallowRest && start < windowLimit && window.get(start) == '"') {
+                quoted = true;
+                pos = start + 1;
+                while (true) {
+                    if (pos >= windowLimit) {
+                        if (moreInFile) {
+                            return false;
+                        }
+                        break;
+                    }
+                    byte b = window.get(pos);
+                    if (b == '"') {
+                        if (pos + 1 < windowLimit && window.get(pos + 1) == '"') {
+                            pos += 2;
+                            continue;
+                        }
+                        if (pos + 1 >= windowLimit && moreInFile) {
+                            return false;
+                        }
+                        break;
+                    }
+                    if (b == '\n') {
+                        lines++;
+                    }
+                    pos++;
+                }
+                addField(start + 1, Math.min(pos, windowLimit), true);
+                pos++;
+                // Anything between the closing quote and the next delimiter is ignored.
+                while (pos < windowLimit && window.get(pos) != ',' && window.get(pos) != '\n') {
+                    pos++;
+                }
+            } else {
+                pos = start;
+                while (pos < windowLimit) {
+                    byte b = window.get(pos);
+                    if (b == '\n' || (b == ',' && !swallowRest)) {
+                        break;
+                    }
+                    pos++;
+                }
+                int end = pos;
+                while (end > start && isBlank(window.get(end - 1))) {
+                    end--;
+                }
+                addField(start, end, quoted);
+            }
+
+            if (pos >= windowLimit) {
+                if (moreInFile) {
+                    return false;
+                }
+                nextRowStart = fileSize;
+                break;
+            }
+            if (window.get(pos) == '\n') {
+                lines++;
+                nextRowStart = windowStart + pos + 1;
+                break;
+            }
+            pos++;
+        }
+
+        nextLineNumber = lineNumber + lines;
+        if (swallowedQuotedLastField()) {
+            fieldQuoted[fieldCount - 1] = true;
+            fieldStarts[fieldCount - 1]++;
+            fieldEnds[fieldCount - 1]--;
+        }
+        return true;
+    }
+
+    /**
+     * A last field that ran to the end of the line but is wrapped in quotes is still a quoted field.
+     */
+    private boolean swallowedQuotedLastField() {
+        if (maxFields <= 0 || fieldCount != maxFields) {
+            return false;
+        }
+        int start = fieldStarts[fieldCount - 1];
+        int end = fieldEnds[fieldCount - 1];
+        return !fieldQuoted[fieldCount - 1] && end - start >= 2
+                && window.get(start) == '"' && window.get(end - 1) == '"';
+    }
+
+    private void addField(int start, int end, boolean quoted) {
+        if (fieldCount == fieldStarts.length) {
+            fieldStarts = Arrays.copyOf(fieldStarts, fieldCount * 2);
+            fieldEnds = Arrays.copyOf(fieldEnds, fieldCount * 2);
+            fieldQuoted = Arrays.copyOf(fieldQuoted, fieldCount * 2);
+        }
+        fieldStarts[fieldCount] = start;
+        fieldEnds[fieldCount] = end;
+        fieldQuoted[fieldCount] = quoted;
+        fieldCount++;
+    }
+
+    private static boolean isBlank(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+    /**
+     * Returns the number of fields in the current row.
+     *
+     * @return the field count
+     */
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Returns the line of the file the current row starts on, counting from 1.
+     *
+     * @return the line number
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Returns a field as text. Unquoted fields are trimmed; quoted fields have their quotes removed
+     * and doubled quotes collapsed.
+     *
+     * @param index the field index, starting at 0
+     * @return the field value
+     */
+    public String getString(int index) {
+        checkIndex(index);
+        int start = fieldStarts[index];
+        int end = fieldEnds[index];
+        byte[] bytes = new byte[end - start];
+        window.get(start, bytes);
+
+        if (!fieldQuoted[index]) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        int length = 0;
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[length++] = bytes[i];
+            if (bytes[i] == '"' && i + 1 < bytes.length && bytes[i + 1] == '"') {
+                i++;
+            }
+        }
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Parses a field as an int directly from the file's bytes.
+     *
+     * @param index the field index, starting at 0
+     * @return the parsed value
+     * @throws NumberFormatException if the field is not a valid int
+     */
+    public int getInt(int index) {
+        checkIndex(index);
+        int pos = fieldStarts[index];
+        int end = fieldEnds[index];
+        boolean negative = false;
+
+        if (pos < end && (window.get(pos) == '-' || window.get(pos) == '+')) {
+            negative = window.get(pos) == '-';
+            pos++;
+        }
+        if (pos == end) {
+            throw new NumberFormatException("For input string: \"" + getString(index) + "\"");
+        }
+
+        long value = 0;
+        for (; pos < end; pos++) {
+            int digit = window.get(pos) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("For input string: \"" + getString(index) + "\"");
+            }
+            value = value * 10 + digit;
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                throw new NumberFormatException("Value out of range: \"" + getString(index) + "\"");
+            }
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            throw new NumberFormatException("Value out of range: \"" + getString(index) + "\"");
+        }
+        return (int) value;
+    }
+
+    /**
+     * Parses a field as a double directly from the file's bytes. Plain decimals such as 12345.67
+     * are parsed without creating a String; anything else falls back to Double.parseDouble.
+     *
+     * @param index the field index, starting at 0
+     * @return the parsed value
+     * @throws NumberFormatException if the field is not a valid number
+     */
+    public double getDouble(int index) {
+        checkIndex(index);
+        int pos = fieldStarts[index];
+        int end = fieldEnds[index];
+        boolean negative = false;
+
+        if (pos < end && (window.get(pos) == '-' || window.get(pos) == '+')) {
+            negative = window.get(pos) == '-';
+            pos++;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = 0;
+        boolean inFraction = false;
+        for (; pos < end; pos++) {
+            byte b = window.get(pos);
+            if (b == '.' && !inFraction) {
+                inFraction = true;
+                continue;
+            }
+            int digit = b - '0';
+            if (digit < 0 || digit > 9 || digits >= 15) {
+                // Exponents, very long numbers and malformed input take the slow path.
+                return Double.parseDouble(getString(index));
+            }
+            mantissa = mantissa * 10 + digit;
+            digits++;
+            if (inFraction) {
+                fractionDigits++;
+            }
+        }
+        if (digits == 0) {
+            throw new NumberFormatException("For input string: \"" + getString(index) + "\"");
+        }
+
+        // Both operands are exact doubles, so the division is correctly rounded.
+        double value = fractionDigits == 0 ? mantissa : mantissa / POWERS_OF_TEN[fractionDigits];
+        return negative ? -value : value;
+    }
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+    };
+
+    /**
+     * Returns the current row as it appears in the file, for error messages.
+     *
+     * @return the raw row text without its line break
+     */
+    public String getRawRow() {
+        int start = (int) (rowStart - windowStart);
+        int end = (int) (Math.min(nextRowStart, windowStart + windowLimit) - windowStart);
+        while (end > start && (window.get(end - 1) == '\n' || window.get(end - 1) == '\r')) {
+            end--;
+        }
+        byte[] bytes = new byte[end - start];
+        window.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= fieldCount) {
+            throw new IndexOutOfBoundsException("Field " + index + " of a row with " + fieldCount + " fields");
+        }
+    }
+
+    /**
+     * Closes the underlying file. The last mapped window is released once it is garbage collected.
+     */
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+}
@@ -0,0 +1,423 @@
+package com.zoomly.util;
+
+import com.zoomly.dao.DatabaseConnection;
+import com.zoomly.dao.ReservationDao;
+import com.zoomly.dao.UserDao;
+import com.zoomly.dao.VehicleDao;
+import com.zoomly.model.Reservation;
+import com.zoomly.model.User;
+import com.zoomly.model.Vehicle;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * DatasetGenerator.java
+ * Generates large, realistic datasets for testing Zoomly at production scale.
+ *
+ * Every user and vehicle passes UserValidator and VehicleValidator, emails and VINs are unique,
+ * and each vehicle's reservations are consecutive, non-overlapping date ranges spread around
+ * today, priced from the vehicle's daily rate the way ReservationService prices them. The same
+ * counts and seed always produce the same data.
+ *
+ * The data is either inserted through the DAOs' batch inserts or written to files:
+ * users.txt and vehicles.txt in the format FileLoader imports, and reservations.txt with one
+ * "user_id,vehicle_id,pickup_date,dropoff_date,total_charge" line per reservation. The reservation
+ * file assumes the users and vehicles were imported into empty tables, so their IDs start at 1
+ * in file order; it can be loaded with LOAD DATA LOCAL INFILE.
+ *
+ * Run from the command line:
+ * <pre>
+ * java -cp zoomly.jar com.zoomly.util.DatasetGenerator --users 1000000 --vehicles 200000 \
+ *     --reservations 20000000 --out ./dataset
+ * java -cp zoomly.jar com.zoomly.util.DatasetGenerator --users 100000 --vehicles 20000 \
+ *     --reservations 2000000 --url "jdbc:mysql://localhost:3306/zoomly" \
+ *     --user root --password secret
+ * </pre>
+ */
+public class DatasetGenerator {
+    public static final int DEFAULT_BATCH_SIZE = 5000;
+
+    private static final String[] FIRST_NAMES = {
+            "James", "Mary", "John", "Patricia", "Robert", "Jennifer", "Michael", "Linda", "William", "Elizabeth",
+            "David", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen",
+            "Daniel", "Nancy", "Matthew", "Lisa", "Anthony", "Betty", "Mark", "Margaret", "Steven", "Sandra",
+            "Paul", "Ashley", "Andrew", "Emily", "Joshua", "Donna", "Kevin", "Michelle", "Brian", "Carol"
+    };
+    private static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+            "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin",
+            "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark", "Ramirez", "Lewis", "Robinson",
+            "Walker", "Young", "Allen", "King", "Wright", "Scott", "Torres", "Nguyen", "Hill", "Flores"
+    };
+    private static final String[] EMAIL_DOMAINS = {"gmail.com", "yahoo.com", "outlook.com", "icloud.com", "zoomly.com"};
+    private static final String PASSWORD_LETTERS = "ABCDEFGHJKLMNPQRSTUVWXYZabcdefghijkmnopqrstuvwxyz";
+    private static final String PASSWORD_SPECIALS = "!@#$%^&*";
+
+    private static final String[] MAKES = {"Toyota", "Honda", "Tesla", "Ford"};
+    private static final String[][] MODELS = {
+            {"Corolla", "Camry"}, {"Civic", "Accord"}, {"Model X", "Model Y", "Model S"}, {"Mustang", "F-150"}
+    };
+    private static final int[] BASE_DAILY_RATES = {45, 45, 110, 70};
+    private static final String[] CONDITIONS = {"Well kept", "Clean", "Recently serviced", "Low mileage", "Spacious"};
+
+    /**
+     * VINs are the vehicle's index multiplied by a constant coprime to 36 and written in base 36,
+     * which spreads them over the whole 8-character space while keeping them unique.
+     */
+    private static final long VIN_SPACE = 2_821_109_907_456L;
+    private static final long VIN_MULTIPLIER = 1_000_000_007L;
+
+    private static final int MAX_RENTAL_DAYS = 7;
+    private static final int MAX_GAP_DAYS = 5;
+    private static final int PROGRESS_INTERVAL = 100_000;
+
+    private final int userCount;
+    private final int vehicleCount;
+    private final long reservationCount;
+    private final long seed;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    /**
+     * Constructs a generator.
+     *
+     * @param userCount the number of users to generate
+     * @param vehicleCount the number of vehicles to generate
+     * @param reservationCount the number of reservations to generate, spread evenly over the vehicles
+     * @param seed the random seed; the same seed gives the same data
+     */
+    public DatasetGenerator(int userCount, int vehicleCount, long reservationCount, long seed) {
+        if (userCount < 0 || vehicleCount < 0 || reservationCount < 0) {
+            throw new IllegalArgumentException("Counts cannot be negative.");
+        }
+        if (reservationCount > 0 && (userCount == 0 || vehicleCount == 0)) {
+            throw new IllegalArgumentException("Reservations need at least one user and one vehicle.");
+        }
+        if (vehicleCount > VIN_SPACE) {
+            throw new IllegalArgumentException("Too many vehicles for unique 8-character VINs.");
+        }
+        this.userCount = userCount;
+        this.vehicleCount = vehicleCount;
+        this.reservationCount = reservationCount;
+        this.seed = seed;
+    }
+
+    /**
+     * Sets how many rows are inserted per batch when writing to the database.
+     *
+     * @param batchSize the rows per batch
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Writes users.txt, vehicles.txt and reservations.txt to a directory.
+     *
+     * @param directory the directory to write to; created if it does not exist
+     * @throws IOException if a file cannot be written
+     */
+    public void writeFiles(Path directory) throws IOException {
+        Files.createDirectories(directory);
+
+        try (BufferedWriter writer = Files.newBufferedWriter(directory.resolve("users.txt"), StandardCharsets.UTF_8)) {
+            SplittableRandom random = new SplittableRandom(seed);
+            for (int i = 1; i <= userCount; i++) {
+                User user = user(i, random);
+                writer.write(user.getFirstName() + "," + user.getLastName() + "," + user.getEmail() + ","
+                        + user.getPassword() + "," + user.getAccountType());
+                writer.newLine();
+                progress("users", i, userCount);
+            }
+        }
+
+        double[] dailyRates = new double[vehicleCount];
+        try (BufferedWriter writer = Files.newBufferedWriter(directory.resolve("vehicles.txt"), StandardCharsets.UTF_8)) {
+            SplittableRandom random = new SplittableRandom(seed + 1);
+            for (int i = 1; i <= vehicleCount; i++) {
+                Vehicle vehicle = vehicle(i, random);
+                dailyRates[i - 1] = vehicle.getPricePerDay();
+                writer.write(vehicle.getVin() + "," + vehicle.getMake() + "," + vehicle.getModel() + ","
+                        + vehicle.getYear() + "," + (long) vehicle.getMileage() + "," + vehicle.getPricePerDay() + ","
+                        + vehicle.getImagePath() + "," + vehicle.getDescription());
+                writer.newLine();
+                progress("vehicles", i, vehicleCount);
+            }
+        }
+
+        int[] userIds = new int[userCount];
+        int[] vehicleIds = new int[vehicleCount];
+        Arrays.setAll(userIds, i -> i + 1);
+        Arrays.setAll(vehicleIds, i -> i + 1);
+        try (BufferedWriter writer = Files.newBufferedWriter(directory.resolve("reservations.txt"), StandardCharsets.UTF_8)) {
+            generateReservations(userIds, vehicleIds, dailyRates, reservation -> {
+                writer.write(reservation.getUserId() + "," + reservation.getVehicleId() + ","
+                        + reservation.getPickupDate() + "," + reservation.getDropOffDate() + ","
+                        + reservation.getTotalCharge());
+                writer.newLine();
+            });
+        }
+    }
+
+    /**
+     * Inserts the users, vehicles and reservations through the DAOs' batch inserts.
+     *
+     * Reservations are spread over the users and vehicles this call inserted, using the IDs the
+     * batch inserts return, so existing rows are never read back or booked. Rows the database
+     * rejects, such as an email that is already registered, are counted and get no reservations.
+     *
+     * @throws SQLException if a batch cannot be written
+     */
+    public void writeToDatabase() throws SQLException {
+        UserDao userDao = new UserDao();
+        VehicleDao vehicleDao = new VehicleDao();
+        ReservationDao reservationDao = new ReservationDao();
+
+        SplittableRandom userRandom = new SplittableRandom(seed);
+        List<User> users = new ArrayList<>(batchSize);
+        int[] userIds = new int[userCount];
+        int storedUsers = 0;
+        for (int i = 1; i <= userCount; i++) {
+            users.add(user(i, userRandom));
+            if (users.size() == batchSize || i == userCount) {
+                for (int id : userDao.addUsers(users)) {
+                    if (id != Statement.EXECUTE_FAILED) {
+                        userIds[storedUsers++] = id;
+                    }
+                }
+                users.clear();
+            }
+            progress("users", i, userCount);
+        }
+
+        SplittableRandom vehicleRandom = new SplittableRandom(seed + 1);
+        List<Vehicle> vehicles = new ArrayList<>(batchSize);
+        int[] vehicleIds = new int[vehicleCount];
+        double[] dailyRates = new double[vehicleCount];
+        int storedVehicles = 0;
+        for (int i = 1; i <= vehicleCount; i++) {
+            vehicles.add(vehicle(i, vehicleRandom));
+            if (vehicles.size() == batchSize || i == vehicleCount) {
+                int[] ids = vehicleDao.addVehicles(vehicles);
+                for (int v = 0; v < ids.length; v++) {
+                    if (ids[v] != Statement.EXECUTE_FAILED) {
+                        vehicleIds[storedVehicles] = ids[v];
+                        dailyRates[storedVehicles++] = vehicles.get(v).getPricePerDay();
+                    }
+                }
+                vehicles.clear();
+            }
+            progress("vehicles", i, vehicleCount);
+        }
+
+        long rejectedReservations = 0;
+        if (reservationCount > 0 && (storedUsers == 0 || storedVehicles == 0)) {
+            System.out.println("No users or vehicles were inserted, so no reservations were generated.");
+        } else if (reservationCount > 0) {
+            List<Reservation> reservations = new ArrayList<>(batchSize);
+            long[] rejected = {0};
+            generateReservations(Arrays.copyOf(userIds, storedUsers), Arrays.copyOf(vehicleIds, storedVehicles),
+                    Arrays.copyOf(dailyRates, storedVehicles), reservation -> {
+                reservations.add(reservation);
+                if (reservations.size() == batchSize) {
+                    rejected[0] += countRejected(reservationDao.addReservations(reservations));
+                    reservations.clear();
+                }
+            });
+            rejected[0] += countRejected(reservationDao.addReservations(reservations));
+            rejectedReservations = rejected[0];
+        }
+
+        System.out.println("Rejected by the database: " + (userCount - storedUsers) + " users, "
+                + (vehicleCount - storedVehicles) + " vehicles, " + rejectedReservations + " reservations.");
+    }
+
+    /**
+     * Generates one valid user. The index makes the email unique.
+     */
+    User user(int index, SplittableRandom random) {
+        String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        // UserValidator rejects a '.' before the '@', so the local part has none.
+        String email = (firstName + lastName).toLowerCase(Locale.ROOT) + index
+                + "@" + EMAIL_DOMAINS[random.nextInt(EMAIL_DOMAINS.length)];
+
+        StringBuilder password = new StringBuilder(10);
+        for (int i = 0; i < 8; i++) {
+            password.append(PASSWORD_LETTERS.charAt(random.nextInt(PASSWORD_LETTERS.length())));
+        }
+        password.append(random.nextInt(10));
+        password.append(PASSWORD_SPECIALS.charAt(random.nextInt(PASSWORD_SPECIALS.length())));
+
+        String accountType = random.nextInt(1000) == 0 ? "admin" : "user";
+        return new User(0, firstName, lastName, email, password.toString(), accountType);
+    }
+
+    /**
+     * Generates one valid vehicle. The index makes the VIN unique.
+     */
+    Vehicle vehicle(int index, SplittableRandom random) {
+        int make = random.nextInt(MAKES.length);
+        String model = MODELS[make][random.nextInt(MODELS[make].length)];
+        int currentYear = Year.now().getValue();
+        int year = currentYear - random.nextInt(12);
+        int age = currentYear - year;
+        long mileage = age * 8_000L + random.nextInt(12_000);
+        double dailyRate = Math.round((BASE_DAILY_RATES[make] * (1.0 - age * 0.03) + random.nextInt(2_000) / 100.0) * 100.0) / 100.0;
+
+        String imagePath = "vehicle_imgs/" + year + "_" + model.toLowerCase(Locale.ROOT).replace(' ', '_') + ".png";
+        String description = CONDITIONS[random.nextInt(CONDITIONS.length)] + " " + year + " " + MAKES[make] + " "
+                + model + ", " + String.format("%,d", mileage) + " miles.";
+        return new Vehicle(0, vin(index), MAKES[make], model, year, mileage, dailyRate, imagePath, description);
+    }
+
+    /**
+     * Returns the VIN of the vehicle with the given index: 8 uppercase base-36 characters.
+     */
+    static String vin(long index) {
+        long value = Math.floorMod(index * VIN_MULTIPLIER, VIN_SPACE);
+        char[] vin = new char[8];
+        for (int i = vin.length - 1; i >= 0; i--) {
+            vin[i] = Character.toUpperCase(Character.forDigit((int) (value % 36), 36));
+            value /= 36;
+        }
+        return new String(vin);
+    }
+
+    /**
+     * Receives generated reservations one at a time, so they never have to be held in memory together.
+     *
+     * @param <E> the exception the sink may throw
+     */
+    @FunctionalInterface
+    interface ReservationSink<E extends Exception> {
+        void accept(Reservation reservation) throws E;
+    }
+
+    /**
+     * Generates the reservations vehicle by vehicle. Each vehicle's rentals last 1 to 7 days and
+     * are separated by 1 to 5 free days, so none overlap, and they are placed so that about half
+     * lie in the past and half in the future.
+     */
+    private <E extends Exception> void generateReservations(int[] userIds, int[] vehicleIds, double[] dailyRates,
+                                                            ReservationSink<E> sink) throws E {
+        SplittableRandom random = new SplittableRandom(seed + 2);
+        long perVehicle = reservationCount / vehicleIds.length;
+        long remainder = reservationCount % vehicleIds.length;
+        long averageSpanDays = (1 + MAX_RENTAL_DAYS) / 2 + (1 + MAX_GAP_DAYS) / 2;
+        LocalDate today = LocalDate.now();
+        long written = 0;
+
+        for (int v = 0; v < vehicleIds.length; v++) {
+            long count = perVehicle + (v < remainder ? 1 : 0);
+            LocalDate pickup = today.minusDays(count * averageSpanDays / 2 + random.nextInt(MAX_RENTAL_DAYS));
+            for (long r = 0; r < count; r++) {
+                int days = 1 + random.nextInt(MAX_RENTAL_DAYS);
+                LocalDate dropOff = pickup.plusDays(days);
+                double totalCharge = Math.round(days * dailyRates[v] * 100.0) / 100.0;
+                sink.accept(new Reservation(0, userIds[random.nextInt(userIds.length)], vehicleIds[v],
+                        Date.valueOf(pickup), Date.valueOf(dropOff), totalCharge));
+                pickup = dropOff.plusDays(1 + random.nextInt(MAX_GAP_DAYS));
+                progress("reservations", ++written, reservationCount);
+            }
+        }
+    }
+
+    private static long countRejected(int[] counts) {
+        long rejected = 0;
+        for (int count : counts) {
+            if (count == Statement.EXECUTE_FAILED) {
+                rejected++;
+            }
+        }
+        return rejected;
+    }
+
+    private static void progress(String what, long done, long total) {
+        if (done % PROGRESS_INTERVAL == 0 || done == total) {
+            System.out.printf("Generated %,d of %,d %s%n", done, total, what);
+        }
+    }
+
+    /**
+     * Entry point for generating a dataset from the command line.
+     *
+     * @param args --users, --vehicles, --reservations, --seed and --batch-size, followed by either
+     *             --out DIRECTORY or --url URL --user USER --password PASSWORD
+     */
+    public static void main(String[] args) {
+        int users = 1_000_000;
+        int vehicles = 200_000;
+        long reservations = 20_000_000L;
+        long seed = 42;
+        int batchSize = DEFAULT_BATCH_SIZE;
+        String out = null;
+        String url = null;
+        String user = "";
+        String password = "";
+
+        try {
+            for (int i = 0; i < args.length; i += 2) {
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + args[i]);
+                }
+                String value = args[i + 1];
+                switch (args[i]) {
+                    case "--users": users = Integer.parseInt(value); break;
+                    case "--vehicles": vehicles = Integer.parseInt(value); break;
+                    case "--reservations": reservations = Long.parseLong(value); break;
+                    case "--seed": seed = Long.parseLong(value); break;
+                    case "--batch-size": batchSize = Integer.parseInt(value); break;
+                    case "--out": out = value; break;
+                    case "--url": url = value; break;
+                    case "--user": user = value; break;
+                    case "--password": password = value; break;
+                    default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            if ((out == null) == (url == null)) {
+                throw new IllegalArgumentException("Give either --out or --url.");
+            }
+
+            DatasetGenerator generator = new DatasetGenerator(users, vehicles, reservations, seed);
+            generator.setBatchSize(batchSize);
+            long start = System.nanoTime();
+            if (out != null) {
+                generator.writeFiles(Paths.get(out));
+            } else {
+                DatabaseConnection.setUrl(url);
+                DatabaseConnection.setUser(user);
+                DatabaseConnection.setPassword(password);
+                generator.writeToDatabase();
+                DatabaseConnection.shutdown();
+            }
+            System.out.printf("Done in %.1f s.%n", (System.nanoTime() - start) / 1e9);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: DatasetGenerator [--users N] [--vehicles N] [--reservations N] [--seed N] [--batch-size N]"
+                    + " (--out DIRECTORY | --url JDBC_URL --user USER --password PASSWORD)");
+            System.exit(2);
+        } catch (IOException | SQLException e) {
+            System.err.println("Dataset generation failed: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+}
@@ -3,19 +3,37 @@ package com.zoomly.util;
 import com.zoomly.dao.UserDao;
 import com.zoomly.dao.VehicleDao;
 import com.zoomly.model.User;
+import com.zoomly.model.Vehicle;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 
 /**
  * FileLoader.java
  * This class handles loading and validating data from text files for users and vehicles.
  * It provides methods for loading user and vehicle data from specified text files.
+ *
+ * Files are read with CsvReader, so quoted fields and commas in the vehicles' free-text description
+ * column are handled, numeric columns are parsed without intermediate Strings, and only the current
+ * batch of rows is held in memory.
+ *
+ * Valid rows are written in JDBC batches of batchSize rows, each batch in its own transaction.
+ * Rows that fail validation, repeat an email or VIN seen earlier in the same file, or are rejected
+ * by the database are recorded in the returned ImportSummary and do not stop the rest of the import.
  */
 public class FileLoader {
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
     private final UserDao userDao;
     private final VehicleDao vehicleDao;
+    private int batchSize = DEFAULT_BATCH_SIZE;
 
     /**
      * Constructor for initializing FileLoader with UserDao and VehicleDao instances.
@@ -28,77 +46,209 @@ public class FileLoader {
         this.vehicleDao = vehicleDao;
     }
 
+    /**
+     * Sets how many rows are written per batch and transaction.
+     *
+     * @param batchSize the number of rows per batch; 1 writes every row in its own transaction
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1.");
+        }
+        this.batchSize = batchSize;
+    }
+
     /**
      * Loads and validates user data from a text file.
      * Each line in the file should contain comma-separated values representing the user's first name,
      * last name, email, password, and account type.
      *
      * @param filePath The path to the users text file.
+     * @return the number of users imported and the reasons any lines were rejected
      * @throws IOException If an I/O error occurs while reading the file.
      */
-    public void loadUsers(String filePath) throws IOException {
-        BufferedReader reader = new BufferedReader(new FileReader(filePath));
-        String line;
-        while ((line = reader.readLine()) != null) {
-            String[] parts = line.split(",");
-            if (parts.length == 5) {
-                String firstName = parts[0].trim();
-                String lastName = parts[1].trim();
-                String email = parts[2].trim();
-                String password = parts[3].trim();
-                String accountType = parts[4].trim();
+    public ImportSummary loadUsers(String filePath) throws IOException {
+        ImportSummary summary = new ImportSummary();
+        long start = System.nanoTime();
+        Set<String> emailsSeen = new HashSet<>();
+        List<User> batch = new ArrayList<>(batchSize);
+        List<Long> batchLines = new ArrayList<>(batchSize);
 
+        try (CsvReader reader = new CsvReader(Paths.get(filePath))) {
+            while (reader.next()) {
+                long lineNumber = reader.getLineNumber();
+                summary.rowRead();
+                if (reader.getFieldCount() != 5) {
+                    summary.rejected(lineNumber, "Invalid line format: " + reader.getRawRow());
+                    continue;
+                }
+
+                User newUser = new User(0, reader.getString(0), reader.getString(1), reader.getString(2),
+                        reader.getString(3), reader.getString(4));
                 try {
-                    User newUser = new User(0, firstName, lastName, email, password, accountType);
                     UserValidator.validate(newUser);
-
-                    userDao.addUser(firstName, lastName, email, password, accountType);
-                    System.out.println("User registered: " + firstName + " " + lastName);
                 } catch (IllegalArgumentException e) {
-                    System.out.println("Warning: " + e.getMessage() + " for " + email + ". Skipping user.");
-                } catch (Exception e) {
-                    System.out.println("Warning: " + e.getMessage());
+                    summary.rejected(lineNumber, e.getMessage().trim() + " for " + newUser.getEmail());
+                    continue;
+                }
+                // Emails are compared case-insensitively, as the users table's collation does.
+                if (!emailsSeen.add(newUser.getEmail().toLowerCase(Locale.ROOT))) {
+                    summary.rejected(lineNumber, "Duplicate email in file: " + newUser.getEmail());
+                    continue;
+                }
+
+                batch.add(newUser);
+                batchLines.add(lineNumber);
+                if (batch.size() >= batchSize) {
+                    writeUsers(batch, batchLines, summary);
                 }
-            } else {
-                System.out.println("Warning: Invalid line format: " + line);
             }
         }
-        reader.close();
+        writeUsers(batch, batchLines, summary);
+
+        summary.finished(System.nanoTime() - start);
+        return summary;
     }
 
     /**
      * Loads and validates vehicle data from a text file.
      * Each line in the file should contain comma-separated values representing the vehicle's VIN,
      * make, model, year, mileage, price per day, image path, and description.
+     * The description runs to the end of the line and may contain commas.
      *
      * @param filePath The path to the vehicles text file.
+     * @return the number of vehicles imported and the reasons any lines were rejected
      * @throws IOException If an I/O error occurs while reading the file.
      */
-    public void loadVehicles(String filePath) throws IOException {
-        BufferedReader reader = new BufferedReader(new FileReader(filePath));
-        String line;
-        while ((line = reader.readLine()) != null) {
-            String[] parts = line.split(",");
-            if (parts.length == 8) {
-                String vin = parts[0].trim();
-                String make = parts[1].trim();
-                String model = parts[2].trim();
-                int year = Integer.parseInt(parts[3].trim());
-                double mileage = Double.parseDouble(parts[4].trim());
-                double pricePerDay = Double.parseDouble(parts[5].trim());
-                String imagePath = parts[6].trim();
-                String description = parts[7].trim();
+    public ImportSummary loadVehicles(String filePath) throws IOException {
+        ImportSummary summary = new ImportSummary();
+        long start = System.nanoTime();
+        Set<String> vinsSeen = new HashSet<>();
+        List<Vehicle> batch = new ArrayList<>(batchSize);
+        List<Long> batchLines = new ArrayList<>(batchSize);
+
+        try (CsvReader reader = new CsvReader(Paths.get(filePath), 8)) {
+            while (reader.next()) {
+                long lineNumber = reader.getLineNumber();
+                summary.rowRead();
+                if (reader.getFieldCount() != 8) {
+                    summary.rejected(lineNumber, "Invalid line format: " + reader.getRawRow());
+                    continue;
+                }
 
+                Vehicle vehicle;
                 try {
-                    vehicleDao.addVehicle(vin, make, model, year, mileage, pricePerDay, imagePath, description);
-                    System.out.println("Vehicle registered: " + make + " " + model + " (VIN: " + vin + ")");
-                } catch (Exception e) {
-                    System.out.println("Warning: " + e.getMessage());
+                    vehicle = new Vehicle(0, reader.getString(0), reader.getString(1), reader.getString(2),
+                            reader.getInt(3), reader.getDouble(4), reader.getDouble(5),
+                            reader.getString(6), reader.getString(7));
+                } catch (NumberFormatException e) {
+                    summary.rejected(lineNumber, "Invalid number (" + e.getMessage() + ") for VIN " + reader.getString(0));
+                    continue;
+                }
+                if (!vinsSeen.add(vehicle.getVin().toLowerCase(Locale.ROOT))) {
+                    summary.rejected(lineNumber, "Duplicate VIN in file: " + vehicle.getVin());
+                    continue;
                 }
+
+                batch.add(vehicle);
+                batchLines.add(lineNumber);
+                if (batch.size() >= batchSize) {
+                    writeVehicles(batch, batchLines, summary);
+                }
+            }
+        }
+        writeVehicles(batch, batchLines, summary);
+
+        summary.finished(System.nanoTime() - start);
+        return summary;
+    }
+
+    /**
+     * Writes a batch of users, records the outcome of each row and empties the batch.
+     * Emails already in the database are looked up for the whole batch in one query and
+     * rejected before the insert, so they do not each cost a failed statement.
+     */
+    private void writeUsers(List<User> batch, List<Long> batchLines, ImportSummary summary) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            removeRegisteredEmails(batch, batchLines, summary);
+            if (!batch.isEmpty()) {
+                recordResults(userDao.addUsers(batch), batchLines, summary, "Rejected by the database (email may already be registered)");
+            }
+        } catch (SQLException e) {
+            recordFailure(batchLines, summary, e);
+        }
+        batch.clear();
+        batchLines.clear();
+    }
+
+    /**
+     * Rejects and removes the users in a batch whose email is already registered.
+     */
+    private void removeRegisteredEmails(List<User> batch, List<Long> batchLines, ImportSummary summary) throws SQLException {
+        List<String> emails = new ArrayList<>(batch.size());
+        for (User user : batch) {
+            emails.add(user.getEmail());
+        }
+        Set<String> registered = userDao.findRegisteredEmails(emails);
+        if (registered.isEmpty()) {
+            return;
+        }
+
+        List<User> remainingUsers = new ArrayList<>(batch.size());
+        List<Long> remainingLines = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            User user = batch.get(i);
+            if (registered.contains(user.getEmail().toLowerCase(Locale.ROOT))) {
+                summary.rejected(batchLines.get(i), "Email is already registered: " + user.getEmail());
             } else {
-                System.out.println("Warning: Invalid line format: " + line);
+                remainingUsers.add(user);
+                remainingLines.add(batchLines.get(i));
             }
         }
-        reader.close();
+        batch.clear();
+        batch.addAll(remainingUsers);
+        batchLines.clear();
+        batchLines.addAll(remainingLines);
+    }
+
+    /**
+     * Writes a batch of vehicles, records the outcome of each row and empties the batch.
+     */
+    private void writeVehicles(List<Vehicle> batch, List<Long> batchLines, ImportSummary summary) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            recordResults(vehicleDao.addVehicles(batch), batchLines, summary, "Rejected by the database (VIN may already exist)");
+        } catch (SQLException e) {
+            recordFailure(batchLines, summary, e);
+        }
+        batch.clear();
+        batchLines.clear();
+    }
+
+    /**
+     * Records each row of a committed batch as accepted or rejected from its update count.
+     */
+    private void recordResults(int[] counts, List<Long> batchLines, ImportSummary summary, String rejectionReason) {
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == Statement.EXECUTE_FAILED) {
+                summary.rejected(batchLines.get(i), rejectionReason);
+            } else {
+                summary.accepted();
+            }
+        }
+    }
+
+    /**
+     * Records every row of a batch that was rolled back as rejected.
+     */
+    private void recordFailure(List<Long> batchLines, ImportSummary summary, SQLException e) {
+        for (long lineNumber : batchLines) {
+            summary.rejected(lineNumber, "Batch failed: " + e.getMessage());
+        }
     }
 }
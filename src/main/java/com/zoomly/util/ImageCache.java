@@ -0,0 +1,188 @@
+package com.zoomly.util;
+
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * ImageCache.java
+ * A shared cache of vehicle images, keyed by file path and display size.
+ *
+ * Images are decoded in the background straight to the size they are shown at, so a card
+ * thumbnail never holds a full-resolution bitmap, and an image used by many vehicles is decoded
+ * once. The cache is a least-recently-used map bounded by the decoded size of its images.
+ * Until an image has finished loading, and for files that are missing or cannot be decoded,
+ * views show the default car picture instead.
+ */
+public class ImageCache {
+    private static final String PLACEHOLDER_RESOURCE = "/vehicle_imgs/default_car.png";
+    private static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+    private static final String VIEW_KEY = "zoomly.imageCacheKey";
+
+    private static final Map<String, Image> images = new LinkedHashMap<>(64, 0.75f, true);
+    private static long maxBytes = DEFAULT_MAX_BYTES;
+    private static long currentBytes;
+    private static long hits;
+    private static long misses;
+
+    private ImageCache() {
+    }
+
+    /**
+     * Shows an image in a view, loading it in the background if it is not cached yet.
+     * The view shows the placeholder until the image has loaded. If the view is given another
+     * image before then, as happens when list cells are reused, the earlier image is not applied.
+     *
+     * @param view the view to show the image in
+     * @param path the image file path, or null for the placeholder
+     * @param width the width the image is displayed at
+     * @param height the height the image is displayed at
+     */
+    public static void load(ImageView view, String path, double width, double height) {
+        String key = key(path, width, height);
+        view.getProperties().put(VIEW_KEY, key);
+
+        Image image = get(path, width, height);
+        if (image.getProgress() >= 1.0) {
+            view.setImage(image.isError() ? getPlaceholder(width, height) : image);
+            return;
+        }
+
+        view.setImage(getPlaceholder(width, height));
+        // Removes itself once the load finishes, so a cached image does not collect a listener,
+        // and a reference to a view, for every time it was requested while loading.
+        image.progressProperty().addListener(new ChangeListener<>() {
+            @Override
+            public void changed(ObservableValue<? extends Number> obs, Number oldProgress, Number newProgress) {
+                if (newProgress.doubleValue() < 1.0) {
+                    return;
+                }
+                obs.removeListener(this);
+                if (key.equals(view.getProperties().get(VIEW_KEY))) {
+                    view.setImage(image.isError() ? getPlaceholder(width, height) : image);
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns the cached image for a path and size, starting a background load on a miss.
+     * The returned image may still be loading.
+     *
+     * @param path the image file path, or null for the placeholder
+     * @param width the width the image is displayed at
+     * @param height the height the image is displayed at
+     * @return the image, or the placeholder if the file does not exist
+     */
+    public static synchronized Image get(String path, double width, double height) {
+        if (path == null || path.isBlank()) {
+            return getPlaceholder(width, height);
+        }
+
+        String key = key(path, width, height);
+        Image image = images.get(key);
+        if (image != null && !image.isError()) {
+            hits++;
+            return image;
+        }
+        misses++;
+        if (image != null) {
+            remove(key);
+        }
+
+        File file = new File(path);
+        if (!file.exists()) {
+            return getPlaceholder(width, height);
+        }
+        image = new Image(file.toURI().toString(), width, height, true, true, true);
+        put(key, image, width, height);
+        return image;
+    }
+
+    /**
+     * Returns the default car picture at the given size.
+     *
+     * @param width the width the image is displayed at
+     * @param height the height the image is displayed at
+     * @return the placeholder image
+     */
+    public static synchronized Image getPlaceholder(double width, double height) {
+        String key = key(PLACEHOLDER_RESOURCE, width, height);
+        Image placeholder = images.get(key);
+        if (placeholder == null) {
+            placeholder = new Image(PLACEHOLDER_RESOURCE, width, height, true, true, false);
+            put(key, placeholder, width, height);
+        }
+        return placeholder;
+    }
+
+    /**
+     * Sets how much decoded image data the cache may hold before evicting the least recently used images.
+     *
+     * @param bytes the budget in bytes
+     */
+    public static synchronized void setMaxBytes(long bytes) {
+        maxBytes = Math.max(0, bytes);
+        evict();
+    }
+
+    /**
+     * Empties the cache.
+     */
+    public static synchronized void clear() {
+        images.clear();
+        currentBytes = 0;
+    }
+
+    /**
+     * Returns the cache's hit and miss counts and its current size.
+     *
+     * @return a one-line summary
+     */
+    public static synchronized String getStats() {
+        return String.format("ImageCache{images=%d, bytes=%d/%d, hits=%d, misses=%d}",
+                images.size(), currentBytes, maxBytes, hits, misses);
+    }
+
+    private static String key(String path, double width, double height) {
+        return path + "@" + (int) width + "x" + (int) height;
+    }
+
+    private static void put(String key, Image image, double width, double height) {
+        images.put(key, image);
+        currentBytes += estimateBytes(width, height);
+        evict();
+    }
+
+    private static void remove(String key) {
+        Image image = images.remove(key);
+        if (image != null) {
+            currentBytes -= estimateBytes(image.getRequestedWidth(), image.getRequestedHeight());
+        }
+    }
+
+    /**
+     * Evicts least recently used images until the cache is within its budget.
+     */
+    private static void evict() {
+        Iterator<Map.Entry<String, Image>> eldestFirst = images.entrySet().iterator();
+        while (currentBytes > maxBytes && eldestFirst.hasNext()) {
+            Image image = eldestFirst.next().getValue();
+            eldestFirst.remove();
+            currentBytes -= estimateBytes(image.getRequestedWidth(), image.getRequestedHeight());
+        }
+    }
+
+    /**
+     * Decoded images use four bytes per pixel, and a ratio-preserving image fits inside the requested box.
+     */
+    private static long estimateBytes(double width, double height) {
+        return (long) Math.max(1, width) * (long) Math.max(1, height) * 4;
+    }
+}
@@ -0,0 +1,119 @@
+package com.zoomly.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * ImportSummary.java
+ * The outcome of a FileLoader import: how many rows were read, accepted and rejected,
+ * why each rejected row was rejected, and how fast the file was processed.
+ *
+ * Only the first MAX_REJECTIONS rejections are kept with their reasons so that a badly
+ * formatted large file does not hold every line in memory; the counts always cover every row.
+ */
+public class ImportSummary {
+    public static final int MAX_REJECTIONS = 1000;
+
+    private int rowsRead;
+    private int accepted;
+    private int rejected;
+    private long elapsedNanos;
+    private final List<Rejection> rejections = new ArrayList<>();
+
+    /**
+     * A row that was not imported.
+     */
+    public static class Rejection {
+        private final long lineNumber;
+        private final String reason;
+
+        public Rejection(long lineNumber, String reason) {
+            this.lineNumber = lineNumber;
+            this.reason = reason;
+        }
+
+        public long getLineNumber() { return lineNumber; }
+
+        public String getReason() { return reason; }
+
+        @Override
+        public String toString() {
+            return "Line " + lineNumber + ": " + reason;
+        }
+    }
+
+    void rowRead() {
+        rowsRead++;
+    }
+
+    void accepted() {
+        accepted++;
+    }
+
+    void rejected(long lineNumber, String reason) {
+        rejected++;
+        if (rejections.size() < MAX_REJECTIONS) {
+            rejections.add(new Rejection(lineNumber, reason));
+        }
+    }
+
+    void finished(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int getRowsRead() { return rowsRead; }
+
+    public int getAccepted() { return accepted; }
+
+    public int getRejected() { return rejected; }
+
+    /**
+     * Returns the recorded rejections, in line order within each batch.
+     *
+     * @return at most MAX_REJECTIONS rejections
+     */
+    public List<Rejection> getRejections() {
+        return Collections.unmodifiableList(rejections);
+    }
+
+    /**
+     * Returns the time the import took.
+     *
+     * @return the elapsed time in milliseconds
+     */
+    public double getElapsedMillis() {
+        return elapsedNanos / 1_000_000.0;
+    }
+
+    /**
+     * Returns the import throughput.
+     *
+     * @return rows read per second
+     */
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : rowsRead / (elapsedNanos / 1_000_000_000.0);
+    }
+
+    /**
+     * Returns the summary followed by one line per recorded rejection.
+     *
+     * @return a multi-line report
+     */
+    public String getReport() {
+        StringBuilder report = new StringBuilder(toString());
+        for (Rejection rejection : rejections) {
+            report.append("\n").append(rejection);
+        }
+        if (rejected > rejections.size()) {
+            report.append("\n... and ").append(rejected - rejections.size()).append(" more rejected rows");
+        }
+        return report.toString();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Imported %d of %d rows (%d rejected) in %.0f ms, %.0f rows/sec",
+                accepted, rowsRead, rejected, getElapsedMillis(), getRowsPerSecond());
+    }
+}
@@ -0,0 +1,6 @@
+-- Overlap checks look up one vehicle's reservations by date range. InnoDB secondary indexes
+-- carry the primary key, so this index alone answers the conflict probe.
+CREATE INDEX idx_reservations_vehicle_dates ON reservations (vehicle_id, pickup_date, dropoff_date);
+
+-- A user's reservations, listed by pickup date.
+CREATE INDEX idx_reservations_user_pickup ON reservations (user_id, pickup_date);
@@ -0,0 +1,8 @@
+-- Browse filters: a make and model, optionally capped by price or year.
+CREATE INDEX idx_vehicles_make_model_price ON vehicles (make, model, price_per_day);
+CREATE INDEX idx_vehicles_make_model_year ON vehicles (make, model, year);
+
+-- Range filters and sorts used without a make.
+CREATE INDEX idx_vehicles_price ON vehicles (price_per_day);
+CREATE INDEX idx_vehicles_year ON vehicles (year);
+CREATE INDEX idx_vehicles_mileage ON vehicles (mileage);
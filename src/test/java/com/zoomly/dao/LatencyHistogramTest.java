@@ -0,0 +1,111 @@
+package com.zoomly.dao;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * LatencyHistogramTest.java
+ * This class tests the bucket boundaries and quantiles of LatencyHistogram.
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    void testEmptyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getQuantileNanos(0.5));
+        assertEquals(0, histogram.getMaxNanos());
+    }
+
+    @Test
+    void testSmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int value = 0; value < 8; value++) {
+            histogram.record(value);
+        }
+
+        assertEquals(0, histogram.getQuantileNanos(0.0));
+        assertEquals(3, histogram.getQuantileNanos(0.5));
+        assertEquals(6, histogram.getQuantileNanos(0.8));
+        assertEquals(7, histogram.getQuantileNanos(1.0));
+        assertEquals(28, histogram.getTotalNanos());
+    }
+
+    @Test
+    void testBucketUpperBoundIsWithinOneEighth() {
+        long[] values = {8, 9, 15, 16, 17, 100, 1_000, 4_095, 4_096, 123_456_789L, 1L << 40, (1L << 40) + 1, Long.MAX_VALUE / 3};
+        for (long value : values) {
+            LatencyHistogram histogram = new LatencyHistogram();
+            histogram.record(value);
+            histogram.record(Long.MAX_VALUE);
+
+            // The first of two values: the upper bound of its bucket, not capped by the maximum.
+            long bound = histogram.getQuantileNanos(0.5);
+            assertTrue(bound >= value, value + " reported as " + bound);
+            assertTrue(bound - value <= value / 8, value + " reported as " + bound);
+        }
+    }
+
+    @Test
+    void testBucketsDoNotOverlap() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(16);
+        histogram.record(17);
+        histogram.record(18);
+        histogram.record(Long.MAX_VALUE);
+
+        // 16 and 17 share a bucket whose upper bound is 17; 18 starts the next one.
+        assertEquals(17, histogram.getQuantileNanos(0.25));
+        assertEquals(17, histogram.getQuantileNanos(0.5));
+        assertEquals(19, histogram.getQuantileNanos(0.75));
+    }
+
+    @Test
+    void testQuantilesOfUniformValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int value = 1; value <= 10_000; value++) {
+            histogram.record(value * 1_000L);
+        }
+
+        long p50 = histogram.getQuantileNanos(0.5);
+        long p99 = histogram.getQuantileNanos(0.99);
+        assertTrue(p50 >= 5_000_000 && p50 <= 5_000_000 * 9 / 8, "p50 " + p50);
+        assertTrue(p99 >= 9_900_000 && p99 <= 10_000_000, "p99 " + p99);
+        assertEquals(10_000_000, histogram.getQuantileNanos(1.0));
+        assertEquals(10_000_000, histogram.getMaxNanos());
+        assertEquals(10_000, histogram.getCount());
+    }
+
+    @Test
+    void testQuantileIsCappedAtMaximum() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1_000);
+
+        assertEquals(1_000, histogram.getQuantileNanos(0.99));
+    }
+
+    @Test
+    void testNegativeValuesCountAsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+
+        assertEquals(1, histogram.getCount());
+        assertEquals(0, histogram.getTotalNanos());
+        assertEquals(0, histogram.getQuantileNanos(1.0));
+    }
+
+    @Test
+    void testResetClearsEverything() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(500);
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getTotalNanos());
+        assertEquals(0, histogram.getMaxNanos());
+        assertEquals(0, histogram.getQuantileNanos(0.5));
+    }
+}
@@ -0,0 +1,335 @@
+package com.zoomly.dao;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SchemaMigratorTest.java
+ * This class tests how SchemaMigrator parses its scripts and applies them, against a scripted
+ * fake JDBC driver that records every statement instead of talking to MySQL.
+ */
+public class SchemaMigratorTest {
+    private static final String URL_PREFIX = "jdbc:zoomly-scripted:";
+
+    private static final List<String> executed = Collections.synchronizedList(new ArrayList<>());
+    private static final Map<Integer, String> appliedChecksums = new HashMap<>();
+    private static final Map<String, Integer> failingStatements = new HashMap<>();
+    private static boolean lockGranted;
+
+    @BeforeAll
+    static void registerDriver() throws SQLException {
+        DriverManager.registerDriver(new ScriptedDriver());
+    }
+
+    @BeforeEach
+    void setUp() {
+        executed.clear();
+        appliedChecksums.clear();
+        failingStatements.clear();
+        lockGranted = true;
+
+        DatabaseConnection.setInstrumentationEnabled(false);
+        DatabaseConnection.setPoolSize(0, 2);
+        DatabaseConnection.setUrl(URL_PREFIX + "zoomly");
+    }
+
+    @AfterEach
+    void tearDown() {
+        DatabaseConnection.shutdown();
+        DatabaseConnection.setInstrumentationEnabled(true);
+    }
+
+    @Test
+    void testLoadMigrationsParsesListedScripts() throws SQLException {
+        List<SchemaMigrator.Migration> migrations = new SchemaMigrator().loadMigrations();
+
+        assertEquals(2, migrations.size());
+        assertEquals(1, migrations.get(0).version);
+        assertEquals("reservation indexes", migrations.get(0).description);
+        assertEquals("V1__reservation_indexes.sql", migrations.get(0).script);
+        assertEquals(2, migrations.get(1).version);
+        assertEquals("vehicle search indexes", migrations.get(1).description);
+        assertEquals(SchemaMigrator.checksum(migrations.get(1).sql), migrations.get(1).checksum);
+    }
+
+    @Test
+    void testSplitStatementsDropsCommentsAndBlanks() {
+        String script = "-- first comment\n"
+                + "CREATE INDEX a ON t (x);\n"
+                + "\n"
+                + "  -- indented comment\n"
+                + "CREATE INDEX b\n"
+                + "    ON t (y);\n"
+                + ";\n";
+
+        assertEquals(List.of("CREATE INDEX a ON t (x)", "CREATE INDEX b\n    ON t (y)"),
+                SchemaMigrator.splitStatements(script));
+    }
+
+    @Test
+    void testChecksumIsSha256Hex() {
+        assertEquals("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855", SchemaMigrator.checksum(""));
+        assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad", SchemaMigrator.checksum("abc"));
+    }
+
+    @Test
+    void testMigrateAppliesEveryScriptToNewDatabase() throws SQLException {
+        List<String> applied = new SchemaMigrator().migrate();
+
+        assertEquals(List.of("V1__reservation_indexes.sql", "V2__vehicle_search_indexes.sql"), applied);
+        assertEquals(7, count("CREATE INDEX"));
+        assertEquals(2, count("INSERT INTO schema_version"));
+        assertTrue(executed.get(0).startsWith("SELECT GET_LOCK"));
+        assertTrue(executed.get(executed.size() - 1).startsWith("SELECT RELEASE_LOCK"));
+    }
+
+    @Test
+    void testMigrateSkipsAppliedScripts() throws SQLException {
+        SchemaMigrator migrator = new SchemaMigrator();
+        SchemaMigrator.Migration first = migrator.loadMigrations().get(0);
+        appliedChecksums.put(first.version, first.checksum);
+
+        assertEquals(List.of("V2__vehicle_search_indexes.sql"), migrator.migrate());
+        assertEquals(0, count("idx_reservations_vehicle_dates"));
+        assertEquals(1, count("INSERT INTO schema_version"));
+    }
+
+    @Test
+    void testMigrateRejectsChangedScript() {
+        appliedChecksums.put(1, SchemaMigrator.checksum("an older version of the script"));
+
+        SQLException e = assertThrows(SQLException.class, () -> new SchemaMigrator().migrate());
+        assertTrue(e.getMessage().contains("V1__reservation_indexes.sql has changed"));
+        assertEquals(0, count("CREATE INDEX"));
+        assertEquals(1, count("SELECT RELEASE_LOCK"));
+    }
+
+    @Test
+    void testMigrateToleratesExistingIndex() throws SQLException {
+        failingStatements.put("idx_vehicles_price", 1061);
+
+        assertEquals(2, new SchemaMigrator().migrate().size());
+        assertEquals(2, count("INSERT INTO schema_version"));
+    }
+
+    @Test
+    void testMigrateStopsAtFailingStatement() {
+        failingStatements.put("idx_vehicles_price", 1146);
+
+        SQLException e = assertThrows(SQLException.class, () -> new SchemaMigrator().migrate());
+        assertTrue(e.getMessage().contains("V2__vehicle_search_indexes.sql failed"));
+        assertEquals(1146, e.getErrorCode());
+        assertEquals(0, count("idx_vehicles_year"));
+        assertEquals(1, count("INSERT INTO schema_version"));
+        assertEquals(1, count("SELECT RELEASE_LOCK"));
+    }
+
+    @Test
+    void testMigrateFailsWithoutLock() {
+        lockGranted = false;
+
+        assertThrows(SQLException.class, () -> new SchemaMigrator().migrate());
+        assertEquals(0, count("CREATE"));
+    }
+
+    /**
+     * Counts the recorded statements containing the given text.
+     */
+    private static int count(String text) {
+        synchronized (executed) {
+            return (int) executed.stream().filter(sql -> sql.contains(text)).count();
+        }
+    }
+
+    /**
+     * Answers Object's methods for a proxy, or returns null if the method is not one of them.
+     */
+    private static Object objectMethod(Object proxy, String name, Object[] args) {
+        switch (name) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "scripted " + proxy.getClass().getInterfaces()[0].getSimpleName();
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Returns the zero value of a return type, for methods the fake does not script.
+     */
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+
+    private static Connection connection() {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = objectMethod(proxy, method.getName(), args);
+                    if (result != null) {
+                        return result;
+                    }
+                    switch (method.getName()) {
+                        case "prepareStatement":
+                            return statement(PreparedStatement.class, (String) args[0]);
+                        case "createStatement":
+                            return statement(Statement.class, null);
+                        case "isValid":
+                        case "getAutoCommit":
+                            return true;
+                        default:
+                            return defaultValue(method.getReturnType());
+                    }
+                });
+    }
+
+    /**
+     * A statement that records what it runs. Prepared statements fill in their parameters in
+     * the recorded text; plain statements fail if their SQL names a scripted failure.
+     */
+    private static <T extends Statement> T statement(Class<T> type, String preparedSql) {
+        Map<Integer, Object> parameters = new HashMap<>();
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    Object result = objectMethod(proxy, method.getName(), args);
+                    if (result != null) {
+                        return result;
+                    }
+                    String name = method.getName();
+                    if (name.startsWith("set") && args != null && args.length == 2 && args[0] instanceof Integer) {
+                        parameters.put((Integer) args[0], args[1]);
+                        return null;
+                    }
+                    switch (name) {
+                        case "execute":
+                            for (Map.Entry<String, Integer> failure : failingStatements.entrySet()) {
+                                if (((String) args[0]).contains(failure.getKey())) {
+                                    throw new SQLException("Scripted failure", "42000", failure.getValue());
+                                }
+                            }
+                            executed.add((String) args[0]);
+                            return false;
+                        case "executeUpdate":
+                            executed.add(preparedSql + " " + parameters);
+                            return 1;
+                        case "executeQuery":
+                            executed.add(preparedSql);
+                            return query(preparedSql);
+                        default:
+                            return defaultValue(method.getReturnType());
+                    }
+                }));
+    }
+
+    private static ResultSet query(String sql) {
+        List<Object[]> rows = new ArrayList<>();
+        if (sql.startsWith("SELECT GET_LOCK")) {
+            rows.add(new Object[]{lockGranted ? 1 : 0});
+        } else if (sql.startsWith("SELECT RELEASE_LOCK")) {
+            rows.add(new Object[]{1});
+        } else if (sql.startsWith("SELECT version, checksum")) {
+            appliedChecksums.forEach((version, checksum) -> rows.add(new Object[]{version, checksum}));
+        }
+        return resultSet(rows);
+    }
+
+    /**
+     * A result set over fixed rows; column labels are read as version and checksum.
+     */
+    private static ResultSet resultSet(List<Object[]> rows) {
+        int[] position = {-1};
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    Object result = objectMethod(proxy, method.getName(), args);
+                    if (result != null) {
+                        return result;
+                    }
+                    switch (method.getName()) {
+                        case "next":
+                            return ++position[0] < rows.size();
+                        case "getInt":
+                        case "getString":
+                            int column = args[0] instanceof Integer ? (Integer) args[0] - 1
+                                    : "version".equals(args[0]) ? 0 : 1;
+                            return rows.get(position[0])[column];
+                        default:
+                            return defaultValue(method.getReturnType());
+                    }
+                });
+    }
+
+    /**
+     * Accepts jdbc:zoomly-scripted: URLs and hands out scripted connections.
+     */
+    private static class ScriptedDriver implements Driver {
+        @Override
+        public Connection connect(String url, Properties info) {
+            return acceptsURL(url) ? connection() : null;
+        }
+
+        @Override
+        public boolean acceptsURL(String url) {
+            return url != null && url.startsWith(URL_PREFIX);
+        }
+
+        @Override
+        public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+            return new DriverPropertyInfo[0];
+        }
+
+        @Override
+        public int getMajorVersion() {
+            return 1;
+        }
+
+        @Override
+        public int getMinorVersion() {
+            return 0;
+        }
+
+        @Override
+        public boolean jdbcCompliant() {
+            return false;
+        }
+
+        @Override
+        public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            throw new SQLFeatureNotSupportedException();
+        }
+    }
+}
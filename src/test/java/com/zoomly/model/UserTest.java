@@ -0,0 +1,84 @@
+package com.zoomly.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * UserTest.java
+ * This class tests how User tracks which fields have changed since it was loaded or saved.
+ */
+public class UserTest {
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User(1, "Ada", "Lovelace", "ada@zoomly.com", "Secret1!", "user");
+    }
+
+    @Test
+    void testNewUserHasNoChanges() {
+        assertFalse(user.hasChanges());
+        assertTrue(user.getChangedFields().isEmpty());
+    }
+
+    @Test
+    void testSettersRecordChangedFields() {
+        user.setFirstName("Augusta");
+        user.setEmail("augusta@zoomly.com");
+
+        assertTrue(user.hasChanges());
+        assertEquals(Set.of(User.Field.FIRST_NAME, User.Field.EMAIL), user.getChangedFields());
+        assertEquals("Augusta", user.getFirstName());
+    }
+
+    @Test
+    void testSettingSameValueIsNotAChange() {
+        user.setLastName("Lovelace");
+        user.setAccountType("user");
+
+        assertFalse(user.hasChanges());
+    }
+
+    @Test
+    void testSettingOriginalValueBackClearsChange() {
+        user.setPassword("Changed1!");
+        user.setPassword("Again2!");
+        assertEquals(Set.of(User.Field.PASSWORD), user.getChangedFields());
+
+        user.setPassword("Secret1!");
+        assertFalse(user.hasChanges());
+    }
+
+    @Test
+    void testNullValuesAreTracked() {
+        user.setLastName(null);
+        assertEquals(Set.of(User.Field.LAST_NAME), user.getChangedFields());
+
+        user.setLastName("Lovelace");
+        assertFalse(user.hasChanges());
+    }
+
+    @Test
+    void testMarkSavedMakesCurrentValuesOriginal() {
+        user.setAccountType("admin");
+        user.markSaved();
+        assertFalse(user.hasChanges());
+
+        user.setAccountType("user");
+        assertEquals(Set.of(User.Field.ACCOUNT_TYPE), user.getChangedFields());
+    }
+
+    @Test
+    void testChangedFieldsCannotBeModified() {
+        user.setFirstName("Augusta");
+
+        assertThrows(UnsupportedOperationException.class, () -> user.getChangedFields().clear());
+    }
+}
@@ -0,0 +1,235 @@
+package com.zoomly.service;
+
+import com.zoomly.dao.ReservationDao;
+import com.zoomly.model.Reservation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * AvailabilityIndexTest.java
+ * This class tests the overlap queries of AvailabilityIndex, including back-to-back bookings and
+ * bookings that overlap each other, and how the index loads, updates and reloads a vehicle's bookings.
+ */
+public class AvailabilityIndexTest {
+    private static final int VEHICLE = 7;
+    private static final int OTHER_VEHICLE = 8;
+    private static final LocalDate DAY_ZERO = LocalDate.of(2025, 1, 1);
+
+    private StubReservationDao reservationDao;
+    private AvailabilityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        reservationDao = new StubReservationDao();
+        index = new AvailabilityIndex(reservationDao);
+    }
+
+    @Test
+    void testFindOverlapsExcludesDropOffDay() {
+        reservationDao.add(reservation(1, 10, 15));
+        reservationDao.add(reservation(2, 20, 25));
+
+        assertEquals(List.of(1), ids(index.findOverlaps(VEHICLE, day(14), day(19), 0)));
+        assertEquals(List.of(2), ids(index.findOverlaps(VEHICLE, day(16), day(21), 0)));
+        assertEquals(List.of(2, 1), ids(index.findOverlaps(VEHICLE, day(12), day(22), 0)));
+        assertTrue(index.findOverlaps(VEHICLE, day(15), day(20), 0).isEmpty());
+        assertTrue(index.findOverlaps(VEHICLE, day(25), day(30), 0).isEmpty());
+    }
+
+    @Test
+    void testBackToBackBookingsDoNotConflict() {
+        reservationDao.add(reservation(1, 10, 15));
+
+        // A booking from day 15 to day 20 starts the day the existing one ends.
+        assertFalse(index.hasOverlap(VEHICLE, day(15), day(20), 0));
+        assertFalse(index.hasOverlap(VEHICLE, day(5), day(10), 0));
+        assertTrue(index.hasOverlap(VEHICLE, day(14), day(20), 0));
+        assertTrue(index.hasOverlap(VEHICLE, day(5), day(11), 0));
+    }
+
+    @Test
+    void testTouchingBookingsStayOrdered() {
+        reservationDao.add(reservation(1, 10, 12));
+        reservationDao.add(reservation(2, 12, 15));
+        reservationDao.add(reservation(3, 15, 20));
+        reservationDao.add(reservation(4, 20, 21));
+
+        assertEquals(List.of(3, 2, 1), ids(index.findOverlaps(VEHICLE, day(11), day(16), 0)));
+        assertFalse(index.hasOverlap(VEHICLE, day(12), day(15), 2));
+        assertEquals(4, index.orderedBookingCount(VEHICLE));
+        assertEquals(0, index.overlappingBookingCount(VEHICLE));
+
+        index.put(reservation(5, 21, 23));
+        assertEquals(5, index.orderedBookingCount(VEHICLE));
+        assertEquals(0, index.overlappingBookingCount(VEHICLE));
+    }
+
+    @Test
+    void testExcludedReservationIsIgnored() {
+        reservationDao.add(reservation(1, 10, 15));
+
+        assertFalse(index.hasOverlap(VEHICLE, day(12), day(13), 1));
+        assertTrue(index.findOverlaps(VEHICLE, day(12), day(13), 1).isEmpty());
+        assertTrue(index.hasOverlap(VEHICLE, day(12), day(13), 2));
+    }
+
+    @Test
+    void testOverlappingBookingsAreAllFound() {
+        reservationDao.add(reservation(1, 10, 20));
+        reservationDao.add(reservation(2, 12, 14));
+        reservationDao.add(reservation(3, 18, 25));
+        reservationDao.add(reservation(4, 30, 31));
+
+        assertEquals(List.of(1, 2), ids(index.findOverlaps(VEHICLE, day(13), day(14), 0)));
+        assertEquals(List.of(1, 3), ids(index.findOverlaps(VEHICLE, day(19), day(20), 0)));
+        assertEquals(List.of(3), ids(index.findOverlaps(VEHICLE, day(22), day(29), 0)));
+        assertEquals(List.of(4, 1, 2, 3), ids(index.findOverlaps(VEHICLE, day(0), day(40), 0)));
+        assertTrue(index.hasOverlap(VEHICLE, day(13), day(14), 1));
+        assertFalse(index.hasOverlap(VEHICLE, day(25), day(30), 0));
+        assertEquals(2, index.orderedBookingCount(VEHICLE));
+        assertEquals(2, index.overlappingBookingCount(VEHICLE));
+    }
+
+    @Test
+    void testReservationsWithoutDatesAreSkipped() {
+        reservationDao.add(new Reservation(1, 1, VEHICLE, null, Date.valueOf(DAY_ZERO.plusDays(5)), 0));
+
+        assertTrue(index.findOverlaps(VEHICLE, day(0), day(10), 0).isEmpty());
+    }
+
+    @Test
+    void testPutAndRemoveUpdateLoadedVehicle() {
+        reservationDao.add(reservation(1, 10, 15));
+        assertFalse(index.hasOverlap(VEHICLE, day(20), day(22), 0));
+
+        index.put(reservation(2, 20, 22));
+        assertEquals(List.of(2), ids(index.findOverlaps(VEHICLE, day(20), day(22), 0)));
+
+        index.put(reservation(2, 24, 26));
+        assertFalse(index.hasOverlap(VEHICLE, day(20), day(22), 0));
+        assertTrue(index.hasOverlap(VEHICLE, day(25), day(26), 0));
+
+        index.remove(VEHICLE, 1);
+        assertFalse(index.hasOverlap(VEHICLE, day(10), day(15), 0));
+        assertEquals(1, reservationDao.loads);
+    }
+
+    @Test
+    void testPutIgnoresVehicleNotLoaded() {
+        index.put(reservation(1, 10, 15));
+
+        assertEquals(0, reservationDao.loads);
+        assertFalse(index.hasOverlap(VEHICLE, day(10), day(15), 0));
+    }
+
+    @Test
+    void testInvalidateAndTtlReload() {
+        reservationDao.add(reservation(1, 10, 15));
+        index.hasOverlap(VEHICLE, day(10), day(15), 0);
+        index.hasOverlap(VEHICLE, day(10), day(15), 0);
+        assertEquals(1, reservationDao.loads);
+
+        reservationDao.add(reservation(2, 20, 25));
+        index.invalidate(VEHICLE);
+        assertEquals(0, index.orderedBookingCount(VEHICLE));
+        assertTrue(index.hasOverlap(VEHICLE, day(20), day(25), 0));
+        assertEquals(2, reservationDao.loads);
+
+        index.setTtlMillis(0);
+        index.hasOverlap(VEHICLE, day(20), day(25), 0);
+        index.hasOverlap(VEHICLE, day(20), day(25), 0);
+        assertEquals(4, reservationDao.loads);
+    }
+
+    @Test
+    void testLoadChangedWhileRunningIsNotKept() {
+        reservationDao.add(reservation(1, 10, 15));
+        index.hasOverlap(VEHICLE, day(0), day(1), 0);
+        index.setTtlMillis(0);
+
+        // The index is updated while the reload is reading the database.
+        reservationDao.onLoad = vehicleId -> index.put(reservation(2, 20, 25));
+        assertTrue(index.hasOverlap(VEHICLE, day(10), day(15), 0));
+        reservationDao.onLoad = null;
+
+        index.setTtlMillis(60 * 1000);
+        assertTrue(index.hasOverlap(VEHICLE, day(20), day(25), 0));
+        assertTrue(index.hasOverlap(VEHICLE, day(10), day(15), 0));
+        assertEquals(2, reservationDao.loads);
+    }
+
+    @Test
+    void testRemoveLeavesOtherVehiclesLoadsAlone() {
+        reservationDao.add(reservation(1, 10, 15));
+        reservationDao.add(reservation(2, OTHER_VEHICLE, 10, 15));
+        index.hasOverlap(VEHICLE, day(0), day(1), 0);
+
+        // A cancellation on one vehicle while another vehicle is loading.
+        reservationDao.onLoad = vehicleId -> index.remove(VEHICLE, 1);
+        assertTrue(index.hasOverlap(OTHER_VEHICLE, day(10), day(15), 0));
+        reservationDao.onLoad = null;
+
+        assertTrue(index.hasOverlap(OTHER_VEHICLE, day(10), day(15), 0));
+        assertFalse(index.hasOverlap(VEHICLE, day(10), day(15), 0));
+        assertEquals(2, reservationDao.loads);
+    }
+
+    private static Reservation reservation(int id, int pickupDay, int dropOffDay) {
+        return reservation(id, VEHICLE, pickupDay, dropOffDay);
+    }
+
+    private static Reservation reservation(int id, int vehicleId, int pickupDay, int dropOffDay) {
+        return new Reservation(id, 1, vehicleId, Date.valueOf(DAY_ZERO.plusDays(pickupDay)),
+                Date.valueOf(DAY_ZERO.plusDays(dropOffDay)), 0);
+    }
+
+    private static long day(int offset) {
+        return DAY_ZERO.plusDays(offset).toEpochDay();
+    }
+
+    private static List<Integer> ids(List<Reservation> reservations) {
+        List<Integer> ids = new ArrayList<>();
+        for (Reservation reservation : reservations) {
+            ids.add(reservation.getId());
+        }
+        return ids;
+    }
+
+    /**
+     * Serves a fixed list of reservations and counts how often a vehicle is loaded.
+     */
+    private static class StubReservationDao extends ReservationDao {
+        private final List<Reservation> reservations = new ArrayList<>();
+        private int loads;
+        private IntConsumer onLoad;
+
+        void add(Reservation reservation) {
+            reservations.add(reservation);
+        }
+
+        @Override
+        public List<Reservation> getReservationsByVehicleId(int vehicleId) {
+            loads++;
+            if (onLoad != null) {
+                onLoad.accept(vehicleId);
+            }
+            List<Reservation> result = new ArrayList<>();
+            for (Reservation reservation : reservations) {
+                if (reservation.getVehicleId() == vehicleId) {
+                    result.add(reservation);
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.zoomly.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * CsvReaderTest.java
+ * This class tests how CsvReader splits rows into fields, handles quoting and line numbers,
+ * parses numbers from the mapped bytes and reads rows that cross a mapping window.
+ */
+public class CsvReaderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testReadsTrimmedFieldsAndLineNumbers() throws IOException {
+        try (CsvReader reader = open("a, b ,c\n\n  d\t,e\r\nlast", 0)) {
+            assertTrue(reader.next());
+            assertEquals(List.of("a", "b", "c"), fields(reader));
+            assertEquals(1, reader.getLineNumber());
+
+            assertTrue(reader.next());
+            assertEquals(List.of(""), fields(reader));
+            assertEquals(2, reader.getLineNumber());
+
+            assertTrue(reader.next());
+            assertEquals(List.of("d", "e"), fields(reader));
+            assertEquals("  d\t,e", reader.getRawRow());
+
+            assertTrue(reader.next());
+            assertEquals(List.of("last"), fields(reader));
+            assertEquals(4, reader.getLineNumber());
+            assertFalse(reader.next());
+        }
+    }
+
+    @Test
+    void testQuotedFields() throws IOException {
+        try (CsvReader reader = open("\"x, y\",\"say \"\"hi\"\"\", \"two\nlines\" ,z\nnext\n", 0)) {
+            assertTrue(reader.next());
+            assertEquals(List.of("x, y", "say \"hi\"", "two\nlines", "z"), fields(reader));
+
+            assertTrue(reader.next());
+            assertEquals("next", reader.getString(0));
+            assertEquals(3, reader.getLineNumber());
+        }
+    }
+
+    @Test
+    void testMaxFieldsKeepsRestOfLineInLastField() throws IOException {
+        try (CsvReader reader = open("1,Toyota,Clean, one owner, no accidents\n2,Honda,\"Quoted, \"\"kept\"\"\"\n", 3)) {
+            assertTrue(reader.next());
+            assertEquals(List.of("1", "Toyota", "Clean, one owner, no accidents"), fields(reader));
+
+            assertTrue(reader.next());
+            assertEquals(List.of("2", "Honda", "Quoted, \"kept\""), fields(reader));
+        }
+    }
+
+    @Test
+    void testSkipsByteOrderMark() throws IOException {
+        byte[] text = "id,name\n".getBytes(StandardCharsets.UTF_8);
+        byte[] bytes = new byte[text.length + 3];
+        bytes[0] = (byte) 0xEF;
+        bytes[1] = (byte) 0xBB;
+        bytes[2] = (byte) 0xBF;
+        System.arraycopy(text, 0, bytes, 3, text.length);
+        Path file = directory.resolve("bom.csv");
+        Files.write(file, bytes);
+
+        try (CsvReader reader = new CsvReader(file)) {
+            assertTrue(reader.next());
+            assertEquals("id", reader.getString(0));
+        }
+    }
+
+    @Test
+    void testParsesNumbers() throws IOException {
+        try (CsvReader reader = open("42, -17,+8,2147483647,-2147483648\n12345.67,-0.5,3,1e3,0.1\n", 0)) {
+            assertTrue(reader.next());
+            assertEquals(42, reader.getInt(0));
+            assertEquals(-17, reader.getInt(1));
+            assertEquals(8, reader.getInt(2));
+            assertEquals(Integer.MAX_VALUE, reader.getInt(3));
+            assertEquals(Integer.MIN_VALUE, reader.getInt(4));
+
+            assertTrue(reader.next());
+            for (int i = 0; i < reader.getFieldCount(); i++) {
+                assertEquals(Double.parseDouble(reader.getString(i)), reader.getDouble(i));
+            }
+        }
+    }
+
+    @Test
+    void testRejectsBadNumbers() throws IOException {
+        try (CsvReader reader = open("abc,2147483648,,-,1.2.3\n", 0)) {
+            assertTrue(reader.next());
+            assertThrows(NumberFormatException.class, () -> reader.getInt(0));
+            assertThrows(NumberFormatException.class, () -> reader.getInt(1));
+            assertThrows(NumberFormatException.class, () -> reader.getInt(2));
+            assertThrows(NumberFormatException.class, () -> reader.getDouble(3));
+            assertThrows(NumberFormatException.class, () -> reader.getDouble(4));
+            assertThrows(IndexOutOfBoundsException.class, () -> reader.getString(5));
+        }
+    }
+
+    @Test
+    void testRowsCrossingWindows() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            text.append(i).append(",\"name ").append(i).append(", quoted\"\n");
+        }
+        Path file = write(text.toString());
+
+        try (CsvReader reader = new CsvReader(file, 0, 64)) {
+            for (int i = 0; i < 200; i++) {
+                assertTrue(reader.next());
+                assertEquals(i, reader.getInt(0));
+                assertEquals("name " + i + ", quoted", reader.getString(1));
+                assertEquals(i + 1, reader.getLineNumber());
+            }
+            assertFalse(reader.next());
+        }
+    }
+
+    @Test
+    void testRowLongerThanWindowFails() throws IOException {
+        Path file = write("short\n" + "x".repeat(100) + "\n");
+
+        try (CsvReader reader = new CsvReader(file, 0, 32)) {
+            assertTrue(reader.next());
+            assertThrows(IOException.class, reader::next);
+        }
+    }
+
+    private CsvReader open(String text, int maxFields) throws IOException {
+        return new CsvReader(write(text), maxFields);
+    }
+
+    private Path write(String text) throws IOException {
+        Path file = Files.createTempFile(directory, "rows", ".csv");
+        Files.writeString(file, text, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private static List<String> fields(CsvReader reader) {
+        List<String> fields = new ArrayList<>();
+        for (int i = 0; i < reader.getFieldCount(); i++) {
+            fields.add(reader.getString(i));
+        }
+        return fields;
+    }
+}